@@ -15,6 +15,10 @@
  */
 package org.apache.shiro.spring.boot;
 
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 import org.apache.shiro.spring.boot.jwt.token.JwtAuthorizationToken;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
@@ -79,6 +83,296 @@ public class ShiroJwtProperties {
 
 	private Long refresh_token_expiration;
 
+	/**
+	 * Enable the compiled wildcard permission index used by the JWT realm.
+	 */
+	private boolean permissionIndexEnabled = false;
+
+	/**
+	 * Maximum number of distinct permission sets kept by the permission index.
+	 */
+	private long permissionIndexSize = 1024;
+
+	/**
+	 * Enable reference token mode: clients receive a short opaque reference and the JWT is kept server-side.
+	 */
+	private boolean referenceTokenEnabled = false;
+
+	/**
+	 * Time to live (milliseconds) of a reference token whose payload declares no expiration.
+	 */
+	private long referenceTokenTimeToLive = 30 * 60 * 1000L;
+
+	/**
+	 * Maximum number of reference tokens kept by the in-memory reference token store.
+	 */
+	private long referenceTokenMaxSize = 100000;
+
+	/**
+	 * Enable claim projection: the profile is left out of issued tokens and loaded lazily from a profile cache.
+	 */
+	private boolean profileProjectionEnabled = false;
+
+	/**
+	 * Time to live (milliseconds) of cached profiles.
+	 */
+	private long profileCacheTimeToLive = 10 * 60 * 1000L;
+
+	/**
+	 * Maximum number of cached profiles.
+	 */
+	private long profileCacheSize = 10000;
+
+	/**
+	 * Enable the exp/nbf/iat precheck that rejects stale tokens before signature verification, requires checkExpiry.
+	 */
+	private boolean precheckEnabled = false;
+
+	/**
+	 * Allowed clock skew (seconds) of the exp/nbf/iat precheck, iat is only checked when a skew is configured.
+	 */
+	private long allowedClockSkew = 0;
+
+	/**
+	 * Enable the precompiled filter chain resolver instead of matching chain definitions one after another.
+	 */
+	private boolean compiledFilterChainEnabled = false;
+
+	/**
+	 * Maximum number of request URIs whose resolved filter chain is memoized.
+	 */
+	private long filterChainCacheSize = 1000;
+
+	/**
+	 * Skip subject creation and thread binding for requests whose chain contains only anonymous filters, requires compiledFilterChainEnabled.
+	 */
+	private boolean anonymousBypassEnabled = false;
+
+	/**
+	 * Enable sliding-window login throttling by client address and username.
+	 */
+	private boolean loginThrottleEnabled = false;
+
+	/**
+	 * Login throttling window in milliseconds (default 1 minute).
+	 */
+	private long loginThrottleWindow = 60 * 1000L;
+
+	/**
+	 * Maximum login attempts per client address within the window, 0 means unlimited.
+	 */
+	private long loginThrottleMaxAttemptsPerAddress = 30;
+
+	/**
+	 * Maximum login attempts per username within the window, 0 means unlimited.
+	 */
+	private long loginThrottleMaxAttemptsPerUsername = 10;
+
+	/**
+	 * Maximum number of tracked addresses or usernames.
+	 */
+	private int loginThrottleMaxKeys = 100000;
+
+	/**
+	 * Run realm credential verification (password hashing) on a dedicated bounded executor.
+	 */
+	private boolean credentialsIsolationEnabled = false;
+
+	/**
+	 * Number of credential verification threads.
+	 */
+	private int credentialsPoolSize = Runtime.getRuntime().availableProcessors();
+
+	/**
+	 * Maximum number of queued credential verifications, further logins are rejected.
+	 */
+	private int credentialsQueueCapacity = 100;
+
+	/**
+	 * Maximum time in milliseconds a login waits for credential verification, 0 means no limit.
+	 */
+	private long credentialsTimeout = 5000;
+
+	/**
+	 * Route authentication tokens straight to the single realm supporting their class.
+	 */
+	private boolean realmDispatchEnabled = false;
+
+	/**
+	 * Memoize authorization info and isPermitted/hasRole verdicts for the subject bound to the current request.
+	 */
+	private boolean requestMemoEnabled = false;
+
+	/**
+	 * Enable the cross-request authorization decision cache keyed by claim fingerprint and permission.
+	 */
+	private boolean decisionCacheEnabled = false;
+
+	/**
+	 * Maximum number of cached authorization decisions.
+	 */
+	private long decisionCacheSize = 10000;
+
+	/**
+	 * Claim schema version mixed into the fingerprint, change it to discard cached decisions.
+	 */
+	private String decisionCacheSchemaVersion;
+
+	/**
+	 * Enable role hierarchy expansion of JWT role claims.
+	 */
+	private boolean roleHierarchyEnabled = false;
+
+	/**
+	 * Role hierarchy, role name to the roles it directly includes, e.g. admin: editor.
+	 */
+	private Map<String, List<String>> roleHierarchy = new LinkedHashMap<String, List<String>>();
+
+	/**
+	 * Permissions implied by each role, inherited along the role hierarchy.
+	 */
+	private Map<String, List<String>> rolePermissions = new LinkedHashMap<String, List<String>>();
+
+	/**
+	 * Maximum number of cached role combination expansions.
+	 */
+	private long roleHierarchyCacheSize = 1024;
+
+	/**
+	 * Skip stack trace capture for JWT rejection exceptions.
+	 */
+	private boolean stacklessExceptions = false;
+
+	/**
+	 * Enable the asynchronous authentication audit pipeline.
+	 */
+	private boolean auditEnabled = false;
+
+	/**
+	 * Audit ring buffer capacity, events are dropped when it is full.
+	 */
+	private int auditBufferSize = 8192;
+
+	/**
+	 * Maximum number of audit events written per batch.
+	 */
+	private int auditBatchSize = 256;
+
+	/**
+	 * Audit file path, audit events are written to SLF4J when neither a file nor a custom sink is configured.
+	 */
+	private String auditFile;
+
+	/**
+	 * Audit file size in bytes that triggers rolling.
+	 */
+	private long auditFileMaxSize = 100 * 1024 * 1024L;
+
+	/**
+	 * Number of rolled audit files to keep.
+	 */
+	private int auditFileMaxHistory = 10;
+
+	/**
+	 * Enable OpenTelemetry spans around the JWT verification stages when OpenTelemetry is on the classpath.
+	 */
+	private boolean tracingEnabled = true;
+
+	/**
+	 * Register the JFR event tracer, events stay disabled until enabled in the recording settings.
+	 */
+	private boolean jfrEnabled = true;
+
+	/**
+	 * Register a CRaC resource that drops cached tokens and decisions before checkpoint and re-seeds random generators after restore.
+	 */
+	private boolean cracEnabled = true;
+
+	/**
+	 * Warm up the JWT verification path at startup, readiness is reported only after the warm-up finishes.
+	 */
+	private boolean warmupEnabled = false;
+
+	/**
+	 * Number of warm-up iterations.
+	 */
+	private int warmupIterations = 200;
+
+	/**
+	 * Register a gRPC server interceptor that authenticates calls with the JWT realms.
+	 */
+	private boolean grpcEnabled = false;
+
+	/**
+	 * gRPC metadata key carrying the JWT, an optional "Bearer " prefix is stripped.
+	 */
+	private String grpcAuthorizationHeader = "X-Authorization";
+
+	/**
+	 * Register the WebSocket handshake interceptor and the session expiry scheduler.
+	 */
+	private boolean websocketEnabled = false;
+
+	/**
+	 * Propagate the authenticated Subject to @Async executors and Reactor schedulers.
+	 */
+	private boolean subjectPropagationEnabled = false;
+
+	/**
+	 * Route tokens to the JwtIssuerTenant beans by kid/iss, the routing repository becomes the primary JwtPayloadRepository.
+	 */
+	private boolean multiIssuerEnabled = false;
+
+	/**
+	 * Tenant used to issue tokens, defaults to the first registered tenant.
+	 */
+	private String multiIssuerDefaultTenant;
+
+	/**
+	 * Maximum number of verified tokens cached per tenant, 0 disables the cache.
+	 */
+	private long multiIssuerCacheSize = 10000;
+
+	/**
+	 * Time to live (milliseconds) of the per tenant verified token cache.
+	 */
+	private long multiIssuerCacheTimeToLive = 5 * 60 * 1000L;
+
+	/**
+	 * Enable the invalidation bus, tokens issued before a subject/role invalidation are rejected.
+	 */
+	private boolean invalidationEnabled = false;
+
+	/**
+	 * How long (milliseconds) invalidation watermarks are kept, should not be shorter than the token lifetime.
+	 */
+	private long invalidationWatermarkTimeToLive = 24 * 60 * 60 * 1000L;
+
+	/**
+	 * Enable the memory-mapped revocation store checked by JwtCredentialsMatcher.
+	 */
+	private boolean revocationEnabled = false;
+
+	/**
+	 * Revocation store file, reloaded on restart.
+	 */
+	private String revocationFile = "shiro-jwt-revocation.dat";
+
+	/**
+	 * Initial number of slots of the revoked token and subject watermark tables.
+	 */
+	private int revocationCapacity = 65536;
+
+	/**
+	 * Interval (milliseconds) of the background compaction removing expired entries.
+	 */
+	private long revocationCompactionInterval = 60 * 1000L;
+
+	/**
+	 * How long (milliseconds) subject watermarks are kept, should not be shorter than the token lifetime.
+	 */
+	private long revocationWatermarkTimeToLive = 24 * 60 * 60 * 1000L;
+
 	public boolean isEnabled() {
 		return enabled;
 	}
@@ -143,4 +437,468 @@ public class ShiroJwtProperties {
 		this.refresh_token_expiration = refresh_token_expiration;
 	}
 
+	public boolean isPermissionIndexEnabled() {
+		return permissionIndexEnabled;
+	}
+
+	public void setPermissionIndexEnabled(boolean permissionIndexEnabled) {
+		this.permissionIndexEnabled = permissionIndexEnabled;
+	}
+
+	public long getPermissionIndexSize() {
+		return permissionIndexSize;
+	}
+
+	public void setPermissionIndexSize(long permissionIndexSize) {
+		this.permissionIndexSize = permissionIndexSize;
+	}
+
+	public boolean isReferenceTokenEnabled() {
+		return referenceTokenEnabled;
+	}
+
+	public void setReferenceTokenEnabled(boolean referenceTokenEnabled) {
+		this.referenceTokenEnabled = referenceTokenEnabled;
+	}
+
+	public long getReferenceTokenTimeToLive() {
+		return referenceTokenTimeToLive;
+	}
+
+	public void setReferenceTokenTimeToLive(long referenceTokenTimeToLive) {
+		this.referenceTokenTimeToLive = referenceTokenTimeToLive;
+	}
+
+	public long getReferenceTokenMaxSize() {
+		return referenceTokenMaxSize;
+	}
+
+	public void setReferenceTokenMaxSize(long referenceTokenMaxSize) {
+		this.referenceTokenMaxSize = referenceTokenMaxSize;
+	}
+
+	public boolean isProfileProjectionEnabled() {
+		return profileProjectionEnabled;
+	}
+
+	public void setProfileProjectionEnabled(boolean profileProjectionEnabled) {
+		this.profileProjectionEnabled = profileProjectionEnabled;
+	}
+
+	public long getProfileCacheTimeToLive() {
+		return profileCacheTimeToLive;
+	}
+
+	public void setProfileCacheTimeToLive(long profileCacheTimeToLive) {
+		this.profileCacheTimeToLive = profileCacheTimeToLive;
+	}
+
+	public long getProfileCacheSize() {
+		return profileCacheSize;
+	}
+
+	public void setProfileCacheSize(long profileCacheSize) {
+		this.profileCacheSize = profileCacheSize;
+	}
+
+	public boolean isPrecheckEnabled() {
+		return precheckEnabled;
+	}
+
+	public void setPrecheckEnabled(boolean precheckEnabled) {
+		this.precheckEnabled = precheckEnabled;
+	}
+
+	public long getAllowedClockSkew() {
+		return allowedClockSkew;
+	}
+
+	public void setAllowedClockSkew(long allowedClockSkew) {
+		this.allowedClockSkew = allowedClockSkew;
+	}
+
+	public boolean isCompiledFilterChainEnabled() {
+		return compiledFilterChainEnabled;
+	}
+
+	public void setCompiledFilterChainEnabled(boolean compiledFilterChainEnabled) {
+		this.compiledFilterChainEnabled = compiledFilterChainEnabled;
+	}
+
+	public long getFilterChainCacheSize() {
+		return filterChainCacheSize;
+	}
+
+	public void setFilterChainCacheSize(long filterChainCacheSize) {
+		this.filterChainCacheSize = filterChainCacheSize;
+	}
+
+	public boolean isAnonymousBypassEnabled() {
+		return anonymousBypassEnabled;
+	}
+
+	public void setAnonymousBypassEnabled(boolean anonymousBypassEnabled) {
+		this.anonymousBypassEnabled = anonymousBypassEnabled;
+	}
+
+	public boolean isLoginThrottleEnabled() {
+		return loginThrottleEnabled;
+	}
+
+	public void setLoginThrottleEnabled(boolean loginThrottleEnabled) {
+		this.loginThrottleEnabled = loginThrottleEnabled;
+	}
+
+	public long getLoginThrottleWindow() {
+		return loginThrottleWindow;
+	}
+
+	public void setLoginThrottleWindow(long loginThrottleWindow) {
+		this.loginThrottleWindow = loginThrottleWindow;
+	}
+
+	public long getLoginThrottleMaxAttemptsPerAddress() {
+		return loginThrottleMaxAttemptsPerAddress;
+	}
+
+	public void setLoginThrottleMaxAttemptsPerAddress(long loginThrottleMaxAttemptsPerAddress) {
+		this.loginThrottleMaxAttemptsPerAddress = loginThrottleMaxAttemptsPerAddress;
+	}
+
+	public long getLoginThrottleMaxAttemptsPerUsername() {
+		return loginThrottleMaxAttemptsPerUsername;
+	}
+
+	public void setLoginThrottleMaxAttemptsPerUsername(long loginThrottleMaxAttemptsPerUsername) {
+		this.loginThrottleMaxAttemptsPerUsername = loginThrottleMaxAttemptsPerUsername;
+	}
+
+	public int getLoginThrottleMaxKeys() {
+		return loginThrottleMaxKeys;
+	}
+
+	public void setLoginThrottleMaxKeys(int loginThrottleMaxKeys) {
+		this.loginThrottleMaxKeys = loginThrottleMaxKeys;
+	}
+
+	public boolean isCredentialsIsolationEnabled() {
+		return credentialsIsolationEnabled;
+	}
+
+	public void setCredentialsIsolationEnabled(boolean credentialsIsolationEnabled) {
+		this.credentialsIsolationEnabled = credentialsIsolationEnabled;
+	}
+
+	public int getCredentialsPoolSize() {
+		return credentialsPoolSize;
+	}
+
+	public void setCredentialsPoolSize(int credentialsPoolSize) {
+		this.credentialsPoolSize = credentialsPoolSize;
+	}
+
+	public int getCredentialsQueueCapacity() {
+		return credentialsQueueCapacity;
+	}
+
+	public void setCredentialsQueueCapacity(int credentialsQueueCapacity) {
+		this.credentialsQueueCapacity = credentialsQueueCapacity;
+	}
+
+	public long getCredentialsTimeout() {
+		return credentialsTimeout;
+	}
+
+	public void setCredentialsTimeout(long credentialsTimeout) {
+		this.credentialsTimeout = credentialsTimeout;
+	}
+
+	public boolean isRealmDispatchEnabled() {
+		return realmDispatchEnabled;
+	}
+
+	public void setRealmDispatchEnabled(boolean realmDispatchEnabled) {
+		this.realmDispatchEnabled = realmDispatchEnabled;
+	}
+
+	public boolean isRequestMemoEnabled() {
+		return requestMemoEnabled;
+	}
+
+	public void setRequestMemoEnabled(boolean requestMemoEnabled) {
+		this.requestMemoEnabled = requestMemoEnabled;
+	}
+
+	public boolean isDecisionCacheEnabled() {
+		return decisionCacheEnabled;
+	}
+
+	public void setDecisionCacheEnabled(boolean decisionCacheEnabled) {
+		this.decisionCacheEnabled = decisionCacheEnabled;
+	}
+
+	public long getDecisionCacheSize() {
+		return decisionCacheSize;
+	}
+
+	public void setDecisionCacheSize(long decisionCacheSize) {
+		this.decisionCacheSize = decisionCacheSize;
+	}
+
+	public String getDecisionCacheSchemaVersion() {
+		return decisionCacheSchemaVersion;
+	}
+
+	public void setDecisionCacheSchemaVersion(String decisionCacheSchemaVersion) {
+		this.decisionCacheSchemaVersion = decisionCacheSchemaVersion;
+	}
+
+	public boolean isRoleHierarchyEnabled() {
+		return roleHierarchyEnabled;
+	}
+
+	public void setRoleHierarchyEnabled(boolean roleHierarchyEnabled) {
+		this.roleHierarchyEnabled = roleHierarchyEnabled;
+	}
+
+	public Map<String, List<String>> getRoleHierarchy() {
+		return roleHierarchy;
+	}
+
+	public void setRoleHierarchy(Map<String, List<String>> roleHierarchy) {
+		this.roleHierarchy = roleHierarchy;
+	}
+
+	public Map<String, List<String>> getRolePermissions() {
+		return rolePermissions;
+	}
+
+	public void setRolePermissions(Map<String, List<String>> rolePermissions) {
+		this.rolePermissions = rolePermissions;
+	}
+
+	public long getRoleHierarchyCacheSize() {
+		return roleHierarchyCacheSize;
+	}
+
+	public void setRoleHierarchyCacheSize(long roleHierarchyCacheSize) {
+		this.roleHierarchyCacheSize = roleHierarchyCacheSize;
+	}
+
+	public boolean isStacklessExceptions() {
+		return stacklessExceptions;
+	}
+
+	public void setStacklessExceptions(boolean stacklessExceptions) {
+		this.stacklessExceptions = stacklessExceptions;
+	}
+
+	public boolean isAuditEnabled() {
+		return auditEnabled;
+	}
+
+	public void setAuditEnabled(boolean auditEnabled) {
+		this.auditEnabled = auditEnabled;
+	}
+
+	public int getAuditBufferSize() {
+		return auditBufferSize;
+	}
+
+	public void setAuditBufferSize(int auditBufferSize) {
+		this.auditBufferSize = auditBufferSize;
+	}
+
+	public int getAuditBatchSize() {
+		return auditBatchSize;
+	}
+
+	public void setAuditBatchSize(int auditBatchSize) {
+		this.auditBatchSize = auditBatchSize;
+	}
+
+	public String getAuditFile() {
+		return auditFile;
+	}
+
+	public void setAuditFile(String auditFile) {
+		this.auditFile = auditFile;
+	}
+
+	public long getAuditFileMaxSize() {
+		return auditFileMaxSize;
+	}
+
+	public void setAuditFileMaxSize(long auditFileMaxSize) {
+		this.auditFileMaxSize = auditFileMaxSize;
+	}
+
+	public int getAuditFileMaxHistory() {
+		return auditFileMaxHistory;
+	}
+
+	public void setAuditFileMaxHistory(int auditFileMaxHistory) {
+		this.auditFileMaxHistory = auditFileMaxHistory;
+	}
+
+	public boolean isTracingEnabled() {
+		return tracingEnabled;
+	}
+
+	public void setTracingEnabled(boolean tracingEnabled) {
+		this.tracingEnabled = tracingEnabled;
+	}
+
+	public boolean isJfrEnabled() {
+		return jfrEnabled;
+	}
+
+	public void setJfrEnabled(boolean jfrEnabled) {
+		this.jfrEnabled = jfrEnabled;
+	}
+
+	public boolean isCracEnabled() {
+		return cracEnabled;
+	}
+
+	public void setCracEnabled(boolean cracEnabled) {
+		this.cracEnabled = cracEnabled;
+	}
+
+	public boolean isWarmupEnabled() {
+		return warmupEnabled;
+	}
+
+	public void setWarmupEnabled(boolean warmupEnabled) {
+		this.warmupEnabled = warmupEnabled;
+	}
+
+	public int getWarmupIterations() {
+		return warmupIterations;
+	}
+
+	public void setWarmupIterations(int warmupIterations) {
+		this.warmupIterations = warmupIterations;
+	}
+
+	public boolean isGrpcEnabled() {
+		return grpcEnabled;
+	}
+
+	public void setGrpcEnabled(boolean grpcEnabled) {
+		this.grpcEnabled = grpcEnabled;
+	}
+
+	public String getGrpcAuthorizationHeader() {
+		return grpcAuthorizationHeader;
+	}
+
+	public void setGrpcAuthorizationHeader(String grpcAuthorizationHeader) {
+		this.grpcAuthorizationHeader = grpcAuthorizationHeader;
+	}
+
+	public boolean isWebsocketEnabled() {
+		return websocketEnabled;
+	}
+
+	public void setWebsocketEnabled(boolean websocketEnabled) {
+		this.websocketEnabled = websocketEnabled;
+	}
+
+	public boolean isSubjectPropagationEnabled() {
+		return subjectPropagationEnabled;
+	}
+
+	public void setSubjectPropagationEnabled(boolean subjectPropagationEnabled) {
+		this.subjectPropagationEnabled = subjectPropagationEnabled;
+	}
+
+	public boolean isMultiIssuerEnabled() {
+		return multiIssuerEnabled;
+	}
+
+	public void setMultiIssuerEnabled(boolean multiIssuerEnabled) {
+		this.multiIssuerEnabled = multiIssuerEnabled;
+	}
+
+	public String getMultiIssuerDefaultTenant() {
+		return multiIssuerDefaultTenant;
+	}
+
+	public void setMultiIssuerDefaultTenant(String multiIssuerDefaultTenant) {
+		this.multiIssuerDefaultTenant = multiIssuerDefaultTenant;
+	}
+
+	public long getMultiIssuerCacheSize() {
+		return multiIssuerCacheSize;
+	}
+
+	public void setMultiIssuerCacheSize(long multiIssuerCacheSize) {
+		this.multiIssuerCacheSize = multiIssuerCacheSize;
+	}
+
+	public long getMultiIssuerCacheTimeToLive() {
+		return multiIssuerCacheTimeToLive;
+	}
+
+	public void setMultiIssuerCacheTimeToLive(long multiIssuerCacheTimeToLive) {
+		this.multiIssuerCacheTimeToLive = multiIssuerCacheTimeToLive;
+	}
+
+	public boolean isInvalidationEnabled() {
+		return invalidationEnabled;
+	}
+
+	public void setInvalidationEnabled(boolean invalidationEnabled) {
+		this.invalidationEnabled = invalidationEnabled;
+	}
+
+	public long getInvalidationWatermarkTimeToLive() {
+		return invalidationWatermarkTimeToLive;
+	}
+
+	public void setInvalidationWatermarkTimeToLive(long invalidationWatermarkTimeToLive) {
+		this.invalidationWatermarkTimeToLive = invalidationWatermarkTimeToLive;
+	}
+
+	public boolean isRevocationEnabled() {
+		return revocationEnabled;
+	}
+
+	public void setRevocationEnabled(boolean revocationEnabled) {
+		this.revocationEnabled = revocationEnabled;
+	}
+
+	public String getRevocationFile() {
+		return revocationFile;
+	}
+
+	public void setRevocationFile(String revocationFile) {
+		this.revocationFile = revocationFile;
+	}
+
+	public int getRevocationCapacity() {
+		return revocationCapacity;
+	}
+
+	public void setRevocationCapacity(int revocationCapacity) {
+		this.revocationCapacity = revocationCapacity;
+	}
+
+	public long getRevocationCompactionInterval() {
+		return revocationCompactionInterval;
+	}
+
+	public void setRevocationCompactionInterval(long revocationCompactionInterval) {
+		this.revocationCompactionInterval = revocationCompactionInterval;
+	}
+
+	public long getRevocationWatermarkTimeToLive() {
+		return revocationWatermarkTimeToLive;
+	}
+
+	public void setRevocationWatermarkTimeToLive(long revocationWatermarkTimeToLive) {
+		this.revocationWatermarkTimeToLive = revocationWatermarkTimeToLive;
+	}
+
 }
@@ -1,21 +1,85 @@
 package org.apache.shiro.spring.boot;
 
+import java.io.File;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.annotation.PostConstruct;
+
+import org.apache.shiro.authc.AbstractAuthenticator;
+import org.apache.shiro.authc.Authenticator;
 import org.apache.shiro.mgt.SubjectFactory;
 import org.apache.shiro.spring.boot.jwt.JwtPayloadRepository;
 import org.apache.shiro.spring.boot.jwt.JwtPrincipalRepository;
+import org.apache.shiro.spring.boot.jwt.audit.JwtAuditPublisher;
+import org.apache.shiro.spring.boot.jwt.audit.JwtAuditSink;
+import org.apache.shiro.spring.boot.jwt.audit.RollingFileJwtAuditSink;
+import org.apache.shiro.spring.boot.jwt.audit.Slf4jJwtAuditSink;
 import org.apache.shiro.spring.boot.jwt.authc.JwtAuthenticationFailureHandler;
 import org.apache.shiro.spring.boot.jwt.authc.JwtAuthenticationSuccessHandler;
+import org.apache.shiro.spring.boot.jwt.authc.JwtModularRealmAuthenticator;
+import org.apache.shiro.spring.boot.jwt.authc.credential.CredentialsVerificationService;
+import org.apache.shiro.spring.boot.jwt.authc.credential.IsolatedCredentialsMatcherPostProcessor;
+import org.apache.shiro.spring.boot.jwt.authc.throttle.LoginThrottle;
 import org.apache.shiro.spring.boot.jwt.authc.JwtSubjectFactory;
+import org.apache.shiro.spring.boot.jwt.authz.JwtAuthorizationFailureHandler;
+import org.apache.shiro.spring.boot.jwt.authz.JwtDecisionCache;
+import org.apache.shiro.spring.boot.jwt.authz.JwtRoleHierarchy;
+import org.apache.shiro.spring.boot.jwt.authz.permission.JwtPermissionIndex;
+import org.apache.shiro.spring.boot.jwt.concurrent.JwtReactorSubjectHook;
+import org.apache.shiro.spring.boot.jwt.concurrent.JwtSubjectTaskDecorator;
+import org.apache.shiro.spring.boot.jwt.crac.JwtCheckpointAware;
+import org.apache.shiro.spring.boot.jwt.crac.JwtCracResource;
+import org.apache.shiro.spring.boot.jwt.exception.JwtAuthenticationException;
+import org.apache.shiro.spring.boot.jwt.grpc.JwtGrpcServerInterceptor;
+import org.apache.shiro.spring.boot.jwt.invalidation.InMemoryJwtInvalidationBus;
+import org.apache.shiro.spring.boot.jwt.invalidation.JwtCacheInvalidationListener;
+import org.apache.shiro.spring.boot.jwt.invalidation.JwtInvalidationBus;
+import org.apache.shiro.spring.boot.jwt.invalidation.JwtValidAfterRegistry;
+import org.apache.shiro.spring.boot.jwt.issuer.JwtIssuerTenant;
+import org.apache.shiro.spring.boot.jwt.issuer.MultiIssuerJwtPayloadRepository;
+import org.apache.shiro.spring.boot.jwt.profile.JwtProfileCache;
+import org.apache.shiro.spring.boot.jwt.profile.JwtProfileLoader;
+import org.apache.shiro.spring.boot.jwt.realm.JwtAuthorizingRealmPostProcessor;
+import org.apache.shiro.spring.boot.jwt.revocation.JwtRevocationCredentialsMatcherPostProcessor;
+import org.apache.shiro.spring.boot.jwt.revocation.JwtRevocationLogoutListener;
+import org.apache.shiro.spring.boot.jwt.revocation.MappedJwtRevocationStore;
+import org.apache.shiro.spring.boot.jwt.token.InMemoryJwtReferenceTokenStore;
+import org.apache.shiro.spring.boot.jwt.token.JwtExpiryPrecheck;
+import org.apache.shiro.spring.boot.jwt.token.JwtReferenceTokenLogoutListener;
+import org.apache.shiro.spring.boot.jwt.token.JwtReferenceTokenStore;
+import org.apache.shiro.spring.boot.jwt.trace.CompositeJwtTracer;
+import org.apache.shiro.spring.boot.jwt.trace.JwtTracer;
+import org.apache.shiro.spring.boot.jwt.trace.JwtTracing;
+import org.apache.shiro.spring.boot.jwt.trace.OpenTelemetryJwtTracer;
+import org.apache.shiro.spring.boot.jwt.trace.jfr.JfrJwtTracer;
+import org.apache.shiro.spring.boot.jwt.warmup.JwtWarmupRunner;
+import org.apache.shiro.spring.boot.jwt.web.JwtFilterPostProcessor;
+import org.apache.shiro.spring.boot.jwt.websocket.JwtExpiryWebSocketHandlerDecoratorFactory;
+import org.apache.shiro.spring.boot.jwt.websocket.JwtHandshakeInterceptor;
+import org.apache.shiro.spring.boot.jwt.websocket.JwtSessionExpiryScheduler;
 import org.apache.shiro.spring.web.config.AbstractShiroWebConfiguration;
 import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.AutoConfigureBefore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Binder;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.util.StringUtils;
+
+import io.opentelemetry.api.GlobalOpenTelemetry;
+import io.opentelemetry.api.OpenTelemetry;
 
 //https://blog.csdn.net/weixin_42058600/article/details/81837056
 @Configuration
@@ -31,12 +95,56 @@ public class ShiroJwtWebAutoConfiguration extends AbstractShiroWebConfiguration
 
 	@Autowired
 	private ShiroBizProperties bizProperties;
+	@Autowired
+	private ShiroJwtProperties jwtProperties;
+
+	@PostConstruct
+	public void initStacklessExceptions() {
+		JwtAuthenticationException.setStackless(jwtProperties.isStacklessExceptions());
+	}
+
+	@Bean
+	@ConditionalOnMissingBean
+	@ConditionalOnProperty(prefix = ShiroJwtProperties.PREFIX, value = "reference-token-enabled", havingValue = "true")
+	public JwtReferenceTokenStore jwtReferenceTokenStore(ShiroJwtProperties properties) {
+		return new InMemoryJwtReferenceTokenStore(properties.getReferenceTokenTimeToLive(), properties.getReferenceTokenMaxSize());
+	}
+
+	@Bean
+	@ConditionalOnMissingBean
+	@ConditionalOnProperty(prefix = ShiroJwtProperties.PREFIX, value = "profile-projection-enabled", havingValue = "true")
+	public JwtProfileCache jwtProfileCache(ObjectProvider<JwtProfileLoader> profileLoaderProvider, ShiroJwtProperties properties) {
+		return new JwtProfileCache(profileLoaderProvider.getIfAvailable(), properties.getProfileCacheTimeToLive(),
+				properties.getProfileCacheSize());
+	}
+
+	@Bean
+	@Primary
+	@ConditionalOnMissingBean
+	@ConditionalOnProperty(prefix = ShiroJwtProperties.PREFIX, value = "multi-issuer-enabled", havingValue = "true")
+	public MultiIssuerJwtPayloadRepository jwtMultiIssuerPayloadRepository(ObjectProvider<JwtIssuerTenant> tenantProvider,
+			ShiroJwtProperties properties) {
+		MultiIssuerJwtPayloadRepository repository = new MultiIssuerJwtPayloadRepository();
+		tenantProvider.orderedStream().forEach(tenant -> {
+			tenant.setCache(properties.getMultiIssuerCacheSize(), properties.getMultiIssuerCacheTimeToLive());
+			repository.register(tenant);
+		});
+		if (StringUtils.hasText(properties.getMultiIssuerDefaultTenant())) {
+			repository.setDefaultTenant(properties.getMultiIssuerDefaultTenant());
+		}
+		return repository;
+	}
 
 	@Bean
 	protected JwtAuthenticationSuccessHandler jwtAuthenticationSuccessHandler(
 			JwtPayloadRepository jwtPayloadRepository,
+			ObjectProvider<JwtReferenceTokenStore> referenceTokenStoreProvider,
+			ObjectProvider<JwtProfileCache> profileCacheProvider,
 			ShiroJwtProperties jwtProperties) {
-		return new JwtAuthenticationSuccessHandler(jwtPayloadRepository, jwtProperties.isCheckExpiry());
+		JwtAuthenticationSuccessHandler successHandler = new JwtAuthenticationSuccessHandler(jwtPayloadRepository, jwtProperties.isCheckExpiry());
+		successHandler.setReferenceTokenStore(referenceTokenStoreProvider.getIfAvailable());
+		successHandler.setProfileCache(profileCacheProvider.getIfAvailable());
+		return successHandler;
 	}
 
 	@Bean
@@ -44,15 +152,222 @@ public class ShiroJwtWebAutoConfiguration extends AbstractShiroWebConfiguration
 		return new JwtAuthenticationFailureHandler();
 	}
 
+	@Bean
+	protected JwtAuthorizationFailureHandler jwtAuthorizationFailureHandler() {
+		return new JwtAuthorizationFailureHandler();
+	}
+
 	@Bean
 	public JwtPrincipalRepository jwtRepository(
 			JwtPayloadRepository jwtPayloadRepository,
+			ObjectProvider<JwtReferenceTokenStore> referenceTokenStoreProvider,
+			ObjectProvider<JwtProfileCache> profileCacheProvider,
+			ObjectProvider<JwtValidAfterRegistry> validAfterRegistryProvider,
+			ObjectProvider<MappedJwtRevocationStore> revocationStoreProvider,
 			ShiroJwtProperties properties) {
 		JwtPrincipalRepository jwtRepository = new JwtPrincipalRepository(jwtPayloadRepository);
 		jwtRepository.setCheckExpiry(properties.isCheckExpiry());
+		jwtRepository.setReferenceTokenStore(referenceTokenStoreProvider.getIfAvailable());
+		jwtRepository.setProfileCache(profileCacheProvider.getIfAvailable());
+		jwtRepository.setValidAfterRegistry(validAfterRegistryProvider.getIfAvailable());
+		jwtRepository.setRevocationStore(revocationStoreProvider.getIfAvailable());
+		if (properties.isPrecheckEnabled()) {
+			jwtRepository.setExpiryPrecheck(new JwtExpiryPrecheck(properties.getAllowedClockSkew()));
+		}
 		return jwtRepository;
 	}
 	
+	@Bean
+	@ConditionalOnMissingBean
+	@ConditionalOnProperty(prefix = ShiroJwtProperties.PREFIX, value = "permission-index-enabled", havingValue = "true")
+	public JwtPermissionIndex jwtPermissionIndex(ShiroJwtProperties properties) {
+		return new JwtPermissionIndex(properties.getPermissionIndexSize());
+	}
+
+	/*
+	 * BeanPostProcessor 先于配置属性绑定创建，开关直接从 Environment 绑定
+	 */
+	@Bean
+	public static JwtAuthorizingRealmPostProcessor jwtAuthorizingRealmPostProcessor(
+			ObjectProvider<JwtPermissionIndex> permissionIndexProvider,
+			ObjectProvider<JwtDecisionCache> decisionCacheProvider,
+			ObjectProvider<JwtRoleHierarchy> roleHierarchyProvider, Environment environment) {
+		boolean requestMemoEnabled = Binder.get(environment)
+				.bind(ShiroJwtProperties.PREFIX + ".request-memo-enabled", Boolean.class).orElse(false);
+		return new JwtAuthorizingRealmPostProcessor(permissionIndexProvider, decisionCacheProvider, roleHierarchyProvider,
+				requestMemoEnabled);
+	}
+
+	@Bean
+	@ConditionalOnMissingBean
+	@ConditionalOnProperty(prefix = ShiroJwtProperties.PREFIX, value = "decision-cache-enabled", havingValue = "true")
+	public JwtDecisionCache jwtDecisionCache(ShiroJwtProperties properties) {
+		JwtDecisionCache decisionCache = new JwtDecisionCache(properties.getDecisionCacheSize());
+		decisionCache.setSchemaVersion(properties.getDecisionCacheSchemaVersion());
+		return decisionCache;
+	}
+
+	@Bean
+	@ConditionalOnMissingBean
+	@ConditionalOnProperty(prefix = ShiroJwtProperties.PREFIX, value = "role-hierarchy-enabled", havingValue = "true")
+	public JwtRoleHierarchy jwtRoleHierarchy(ShiroJwtProperties properties) {
+		return new JwtRoleHierarchy(properties.getRoleHierarchy(), properties.getRolePermissions(),
+				properties.getRoleHierarchyCacheSize());
+	}
+
+	@Bean
+	@ConditionalOnMissingBean
+	@ConditionalOnProperty(prefix = ShiroJwtProperties.PREFIX, value = "invalidation-enabled", havingValue = "true")
+	public JwtInvalidationBus jwtInvalidationBus() {
+		return new InMemoryJwtInvalidationBus();
+	}
+
+	@Bean
+	@ConditionalOnMissingBean
+	@ConditionalOnProperty(prefix = ShiroJwtProperties.PREFIX, value = "invalidation-enabled", havingValue = "true")
+	public JwtValidAfterRegistry jwtValidAfterRegistry(JwtInvalidationBus invalidationBus,
+			ObjectProvider<MappedJwtRevocationStore> revocationStoreProvider,
+			ShiroJwtProperties properties) {
+		JwtValidAfterRegistry registry = new JwtValidAfterRegistry();
+		registry.setTimeToLive(properties.getInvalidationWatermarkTimeToLive());
+		// 启用吊销存储时主体水位只由吊销存储持久化，并由 JwtPrincipalRepository 检查
+		registry.setSubjectWatermarkEnabled(revocationStoreProvider.getIfAvailable() == null);
+		invalidationBus.subscribe(registry);
+		return registry;
+	}
+
+	@Bean
+	@ConditionalOnProperty(prefix = ShiroJwtProperties.PREFIX, value = "invalidation-enabled", havingValue = "true")
+	public JwtCacheInvalidationListener jwtCacheInvalidationListener(JwtInvalidationBus invalidationBus,
+			ObjectProvider<JwtProfileCache> profileCacheProvider,
+			ObjectProvider<JwtDecisionCache> decisionCacheProvider) {
+		JwtCacheInvalidationListener listener = new JwtCacheInvalidationListener();
+		listener.setProfileCache(profileCacheProvider.getIfAvailable());
+		listener.setDecisionCache(decisionCacheProvider.getIfAvailable());
+		invalidationBus.subscribe(listener);
+		return listener;
+	}
+
+	@Bean
+	@ConditionalOnMissingBean
+	@ConditionalOnProperty(prefix = ShiroJwtProperties.PREFIX, value = "revocation-enabled", havingValue = "true")
+	public MappedJwtRevocationStore jwtRevocationStore(ObjectProvider<JwtInvalidationBus> invalidationBusProvider,
+			ShiroJwtProperties properties) {
+		MappedJwtRevocationStore revocationStore = new MappedJwtRevocationStore(new File(properties.getRevocationFile()),
+				properties.getRevocationCapacity(), properties.getRevocationWatermarkTimeToLive(),
+				properties.getRevocationCompactionInterval());
+		// 主体失效事件同时持久化为水位，重启后仍然有效
+		invalidationBusProvider.ifAvailable(invalidationBus -> invalidationBus.subscribe(revocationStore));
+		return revocationStore;
+	}
+
+	@Bean
+	@ConditionalOnProperty(prefix = ShiroJwtProperties.PREFIX, value = "revocation-enabled", havingValue = "true")
+	public static JwtRevocationCredentialsMatcherPostProcessor jwtRevocationCredentialsMatcherPostProcessor(
+			ObjectProvider<MappedJwtRevocationStore> revocationStoreProvider) {
+		return new JwtRevocationCredentialsMatcherPostProcessor(revocationStoreProvider);
+	}
+
+	@Bean
+	@ConditionalOnMissingBean
+	@ConditionalOnProperty(prefix = ShiroJwtProperties.PREFIX, value = "audit-enabled", havingValue = "true")
+	public JwtAuditPublisher jwtAuditPublisher(ObjectProvider<JwtAuditSink> auditSinkProvider, ShiroJwtProperties properties) {
+		List<JwtAuditSink> sinks = auditSinkProvider.orderedStream().collect(Collectors.toList());
+		if (StringUtils.hasText(properties.getAuditFile())) {
+			sinks.add(new RollingFileJwtAuditSink(properties.getAuditFile(), properties.getAuditFileMaxSize(),
+					properties.getAuditFileMaxHistory()));
+		}
+		if (sinks.isEmpty()) {
+			sinks.add(new Slf4jJwtAuditSink());
+		}
+		return new JwtAuditPublisher(sinks, properties.getAuditBufferSize(), properties.getAuditBatchSize(), 100);
+	}
+
+	@Bean
+	public SmartInitializingSingleton jwtTracingInitializer(ObjectProvider<JwtTracer> tracerProvider) {
+		return () -> JwtTracing.setTracer(CompositeJwtTracer.of(tracerProvider.orderedStream().collect(Collectors.toList())));
+	}
+
+	@Bean
+	@ConditionalOnMissingBean
+	@ConditionalOnProperty(prefix = ShiroJwtProperties.PREFIX, value = "login-throttle-enabled", havingValue = "true")
+	public LoginThrottle jwtLoginThrottle(ShiroJwtProperties properties) {
+		return new LoginThrottle(properties.getLoginThrottleWindow(), properties.getLoginThrottleMaxAttemptsPerAddress(),
+				properties.getLoginThrottleMaxAttemptsPerUsername(), properties.getLoginThrottleMaxKeys());
+	}
+
+	@Bean
+	@ConditionalOnMissingBean
+	@ConditionalOnProperty(prefix = ShiroJwtProperties.PREFIX, value = "credentials-isolation-enabled", havingValue = "true")
+	public CredentialsVerificationService jwtCredentialsVerificationService(ShiroJwtProperties properties) {
+		return new CredentialsVerificationService(properties.getCredentialsPoolSize(), properties.getCredentialsQueueCapacity(),
+				properties.getCredentialsTimeout());
+	}
+
+	/*
+	 * Spring Boot 的 TaskExecutionAutoConfiguration 会将唯一的 TaskDecorator 应用到 @Async 使用的执行器，
+	 * 应用已定义 TaskDecorator 时不再注册，避免存在多个时两者都不生效
+	 */
+	@Bean
+	@ConditionalOnMissingBean(TaskDecorator.class)
+	@ConditionalOnProperty(prefix = ShiroJwtProperties.PREFIX, value = "subject-propagation-enabled", havingValue = "true")
+	public JwtSubjectTaskDecorator jwtSubjectTaskDecorator() {
+		return new JwtSubjectTaskDecorator();
+	}
+
+	@Bean
+	@ConditionalOnMissingBean
+	@ConditionalOnProperty(prefix = ShiroJwtProperties.PREFIX, value = "warmup-enabled", havingValue = "true")
+	public JwtWarmupRunner jwtWarmupRunner(JwtPayloadRepository jwtPayloadRepository,
+			org.apache.shiro.mgt.SecurityManager securityManager,
+			ObjectProvider<JwtAuthenticationFailureHandler> authenticationFailureHandlerProvider,
+			ObjectProvider<JwtAuthorizationFailureHandler> authorizationFailureHandlerProvider,
+			ShiroJwtProperties properties) {
+		JwtWarmupRunner warmupRunner = new JwtWarmupRunner(getApplicationContext(), jwtPayloadRepository, securityManager,
+				authenticationFailureHandlerProvider.getIfAvailable(), authorizationFailureHandlerProvider.getIfAvailable());
+		warmupRunner.setIterations(properties.getWarmupIterations());
+		return warmupRunner;
+	}
+
+	@Bean
+	@ConditionalOnProperty(prefix = ShiroJwtProperties.PREFIX, value = "credentials-isolation-enabled", havingValue = "true")
+	public static IsolatedCredentialsMatcherPostProcessor jwtIsolatedCredentialsMatcherPostProcessor(
+			ObjectProvider<CredentialsVerificationService> verificationServiceProvider) {
+		return new IsolatedCredentialsMatcherPostProcessor(verificationServiceProvider);
+	}
+
+	@Bean
+	public static JwtFilterPostProcessor jwtFilterPostProcessor(
+			ObjectProvider<JwtReferenceTokenStore> referenceTokenStoreProvider,
+			ObjectProvider<LoginThrottle> loginThrottleProvider,
+			ObjectProvider<JwtAuditPublisher> auditPublisherProvider) {
+		return new JwtFilterPostProcessor(referenceTokenStoreProvider, loginThrottleProvider, auditPublisherProvider);
+	}
+
+	@Bean
+	@Override
+	protected Authenticator authenticator() {
+		Authenticator authenticator;
+		if (jwtProperties.isRealmDispatchEnabled()) {
+			JwtModularRealmAuthenticator jwtAuthenticator = new JwtModularRealmAuthenticator();
+			jwtAuthenticator.setAuthenticationStrategy(authenticationStrategy());
+			authenticator = jwtAuthenticator;
+		} else {
+			authenticator = super.authenticator();
+		}
+		// 注销登录时删除服务端保存的引用令牌
+		JwtReferenceTokenStore referenceTokenStore = getApplicationContext().getBeanProvider(JwtReferenceTokenStore.class).getIfAvailable();
+		if (referenceTokenStore != null && authenticator instanceof AbstractAuthenticator) {
+			((AbstractAuthenticator) authenticator).getAuthenticationListeners().add(new JwtReferenceTokenLogoutListener(referenceTokenStore));
+		}
+		// 注销登录时吊销当前令牌（jti），直到令牌过期
+		MappedJwtRevocationStore revocationStore = getApplicationContext().getBeanProvider(MappedJwtRevocationStore.class).getIfAvailable();
+		if (revocationStore != null && authenticator instanceof AbstractAuthenticator) {
+			((AbstractAuthenticator) authenticator).getAuthenticationListeners().add(new JwtRevocationLogoutListener(revocationStore));
+		}
+		return authenticator;
+	}
+
 	@Bean
 	@Override
 	protected SubjectFactory subjectFactory() {
@@ -68,4 +383,114 @@ public class ShiroJwtWebAutoConfiguration extends AbstractShiroWebConfiguration
 		return applicationContext;
 	}
 
+	@Configuration
+	@ConditionalOnClass(name = "io.opentelemetry.api.OpenTelemetry")
+	@ConditionalOnProperty(prefix = ShiroJwtProperties.PREFIX, value = "tracing-enabled", havingValue = "true", matchIfMissing = true)
+	static class JwtOpenTelemetryConfiguration {
+
+		@Bean
+		@ConditionalOnMissingBean(OpenTelemetryJwtTracer.class)
+		public OpenTelemetryJwtTracer jwtOpenTelemetryTracer(ObjectProvider<OpenTelemetry> openTelemetryProvider) {
+			return new OpenTelemetryJwtTracer(openTelemetryProvider.getIfAvailable(GlobalOpenTelemetry::get));
+		}
+
+	}
+
+	@Configuration
+	@ConditionalOnClass(name = "jdk.jfr.Event")
+	@ConditionalOnProperty(prefix = ShiroJwtProperties.PREFIX, value = "jfr-enabled", havingValue = "true", matchIfMissing = true)
+	static class JwtFlightRecorderConfiguration {
+
+		@Bean
+		@ConditionalOnMissingBean(JfrJwtTracer.class)
+		public JfrJwtTracer jwtFlightRecorderTracer() {
+			return new JfrJwtTracer();
+		}
+
+	}
+
+	@Configuration
+	@ConditionalOnClass(name = "org.crac.Core")
+	@ConditionalOnProperty(prefix = ShiroJwtProperties.PREFIX, value = "crac-enabled", havingValue = "true", matchIfMissing = true)
+	static class JwtCracConfiguration {
+
+		@Bean
+		@ConditionalOnMissingBean(JwtCracResource.class)
+		public JwtCracResource jwtCracResource(ObjectProvider<JwtCheckpointAware> checkpointAwareProvider) {
+			// 检查点时再获取参与者，此时单例均已创建，可按实际类型匹配
+			return new JwtCracResource(() -> checkpointAwareProvider.orderedStream().collect(Collectors.toList())).register();
+		}
+
+	}
+
+	@Configuration
+	@ConditionalOnClass(name = "io.grpc.ServerInterceptor")
+	@ConditionalOnProperty(prefix = ShiroJwtProperties.PREFIX, value = "grpc-enabled", havingValue = "true")
+	static class JwtGrpcConfiguration {
+
+		@Bean
+		@ConditionalOnMissingBean
+		public JwtGrpcServerInterceptor jwtGrpcServerInterceptor(
+				org.apache.shiro.mgt.SecurityManager securityManager,
+				JwtPayloadRepository jwtPayloadRepository,
+				ObjectProvider<JwtReferenceTokenStore> referenceTokenStoreProvider,
+				ObjectProvider<JwtAuditPublisher> auditPublisherProvider,
+				ShiroJwtProperties properties) {
+			JwtGrpcServerInterceptor interceptor = new JwtGrpcServerInterceptor(securityManager, jwtPayloadRepository);
+			interceptor.setAuthorizationHeaderName(properties.getGrpcAuthorizationHeader());
+			interceptor.setCheckExpiry(properties.isCheckExpiry());
+			interceptor.setReferenceTokenStore(referenceTokenStoreProvider.getIfAvailable());
+			interceptor.setAuditPublisher(auditPublisherProvider.getIfAvailable());
+			return interceptor;
+		}
+
+	}
+
+	@Configuration
+	@ConditionalOnClass(name = "org.springframework.web.socket.server.HandshakeInterceptor")
+	@ConditionalOnProperty(prefix = ShiroJwtProperties.PREFIX, value = "websocket-enabled", havingValue = "true")
+	static class JwtWebSocketConfiguration {
+
+		@Bean
+		@ConditionalOnMissingBean
+		public JwtHandshakeInterceptor jwtHandshakeInterceptor(org.apache.shiro.mgt.SecurityManager securityManager,
+				JwtPayloadRepository jwtPayloadRepository,
+				ObjectProvider<JwtReferenceTokenStore> referenceTokenStoreProvider,
+				ObjectProvider<JwtAuditPublisher> auditPublisherProvider,
+				ShiroJwtProperties properties) {
+			JwtHandshakeInterceptor interceptor = new JwtHandshakeInterceptor(securityManager, jwtPayloadRepository);
+			interceptor.setCheckExpiry(properties.isCheckExpiry());
+			interceptor.setReferenceTokenStore(referenceTokenStoreProvider.getIfAvailable());
+			interceptor.setAuditPublisher(auditPublisherProvider.getIfAvailable());
+			return interceptor;
+		}
+
+		@Bean
+		@ConditionalOnMissingBean
+		public JwtSessionExpiryScheduler jwtSessionExpiryScheduler() {
+			return new JwtSessionExpiryScheduler();
+		}
+
+		@Bean
+		@ConditionalOnMissingBean
+		public JwtExpiryWebSocketHandlerDecoratorFactory jwtExpiryWebSocketHandlerDecoratorFactory(
+				JwtSessionExpiryScheduler expiryScheduler) {
+			return new JwtExpiryWebSocketHandlerDecoratorFactory(expiryScheduler);
+		}
+
+	}
+
+	@Configuration
+	@ConditionalOnClass(name = "reactor.core.scheduler.Schedulers")
+	@ConditionalOnProperty(prefix = ShiroJwtProperties.PREFIX, value = "subject-propagation-enabled", havingValue = "true")
+	static class JwtReactorSubjectConfiguration {
+
+		@Bean(destroyMethod = "uninstall")
+		@ConditionalOnMissingBean
+		public JwtReactorSubjectHook jwtReactorSubjectHook(ObjectProvider<JwtSubjectTaskDecorator> taskDecoratorProvider) {
+			return new JwtReactorSubjectHook(taskDecoratorProvider.getIfAvailable(JwtSubjectTaskDecorator::new)).install();
+		}
+
+	}
+
 }
@@ -2,9 +2,15 @@ package org.apache.shiro.spring.boot;
 
 import org.apache.shiro.biz.spring.ShiroFilterProxyFactoryBean;
 import org.apache.shiro.spring.boot.biz.ShiroBizFilterFactoryBean;
+import org.apache.shiro.spring.boot.jwt.web.CompiledFilterChainResolver;
+import org.apache.shiro.spring.boot.jwt.web.JwtFilterPostProcessor;
+import org.apache.shiro.spring.boot.jwt.web.JwtShiroFilter;
 import org.apache.shiro.spring.web.ShiroFilterFactoryBean;
 import org.apache.shiro.spring.web.config.AbstractShiroWebFilterConfiguration;
+import org.apache.shiro.web.filter.mgt.FilterChainManager;
+import org.apache.shiro.web.filter.mgt.PathMatchingFilterChainResolver;
 import org.apache.shiro.web.servlet.AbstractShiroFilter;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.AutoConfigureBefore;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
@@ -26,6 +32,10 @@ public class ShiroJwtWebFilterConfiguration extends AbstractShiroWebFilterConfig
 	
 	@Autowired
 	private ShiroBizProperties bizProperties;
+	@Autowired
+	private ShiroJwtProperties jwtProperties;
+	@Autowired
+	private ObjectProvider<JwtFilterPostProcessor> filterPostProcessorProvider;
 
 	@Bean
     @ConditionalOnMissingBean
@@ -53,8 +63,27 @@ public class ShiroJwtWebFilterConfiguration extends AbstractShiroWebFilterConfig
     @ConditionalOnMissingBean
     protected FilterRegistrationBean<AbstractShiroFilter> filterShiroFilterRegistrationBean() throws Exception {
 
+        AbstractShiroFilter shiroFilter = (AbstractShiroFilter) shiroFilterFactoryBean().getObject();
+        //未注册为Bean的JWT过滤器：同样设置已启用的组件
+        JwtFilterPostProcessor filterPostProcessor = filterPostProcessorProvider.getIfAvailable();
+        if (filterPostProcessor != null && shiroFilter.getFilterChainResolver() instanceof PathMatchingFilterChainResolver) {
+        	FilterChainManager filterChainManager = ((PathMatchingFilterChainResolver) shiroFilter.getFilterChainResolver()).getFilterChainManager();
+        	filterChainManager.getFilters().forEach((name, filter) -> filterPostProcessor.postProcessAfterInitialization(filter, name));
+        }
+        //预编译过滤器链：替换默认的逐个匹配
+        if (jwtProperties.isCompiledFilterChainEnabled() && shiroFilter.getFilterChainResolver() instanceof PathMatchingFilterChainResolver) {
+        	PathMatchingFilterChainResolver chainResolver = (PathMatchingFilterChainResolver) shiroFilter.getFilterChainResolver();
+        	CompiledFilterChainResolver compiledChainResolver = new CompiledFilterChainResolver(chainResolver.getFilterChainManager(),
+        			chainResolver.getPathMatcher(), jwtProperties.getFilterChainCacheSize());
+        	shiroFilter.setFilterChainResolver(compiledChainResolver);
+        	//匿名路径快速通道：仅包含匿名过滤器的路径不创建Subject，其他请求仍由工厂创建的过滤器处理
+        	if (jwtProperties.isAnonymousBypassEnabled()) {
+        		shiroFilter = new JwtShiroFilter(shiroFilter);
+        	}
+        }
+
         FilterRegistrationBean<AbstractShiroFilter> filterRegistrationBean = new FilterRegistrationBean<AbstractShiroFilter>();
-        filterRegistrationBean.setFilter((AbstractShiroFilter) shiroFilterFactoryBean().getObject());
+        filterRegistrationBean.setFilter(shiroFilter);
         filterRegistrationBean.setOrder(Integer.MAX_VALUE);
 
         return filterRegistrationBean;
@@ -15,7 +15,11 @@
  */
 package org.apache.shiro.spring.boot.jwt;
 
+import java.util.Map;
+
+import org.apache.shiro.authz.AuthorizationInfo;
 import org.apache.shiro.biz.authz.principal.ShiroPrincipal;
+import org.apache.shiro.spring.boot.jwt.profile.JwtProfileCache;
 
 import com.github.hiwepy.jwt.JwtPayload;
 
@@ -27,6 +31,13 @@ import com.github.hiwepy.jwt.JwtPayload;
 public class JwtPayloadPrincipal extends ShiroPrincipal {
 
 	private final JwtPayload payload;
+	/** 主张投影：Profile 未写入JWT时，首次访问从缓存加载 */
+	private transient JwtProfileCache profileCache;
+	private transient volatile boolean profileResolved = true;
+	/** 由主张构建的授权信息：JWT 主张不可变，同一主体只需构建一次 */
+	private transient volatile AuthorizationInfo authorizationInfo;
+	/** 认证时提交的引用令牌，注销登录时从引用令牌存储中删除 */
+	private transient String reference;
 	
 	public JwtPayloadPrincipal(JwtPayload payload) {
 		this.payload = payload;
@@ -35,5 +46,48 @@ public class JwtPayloadPrincipal extends ShiroPrincipal {
 	public JwtPayload getPayload() {
 		return payload;
 	}
+
+	@Override
+	public Map<String, Object> getProfile() {
+		if (!profileResolved) {
+			JwtProfileCache cache = this.profileCache;
+			if (cache != null) {
+				super.setProfile(cache.getProfile(getUserid()));
+			}
+			profileResolved = true;
+		}
+		return super.getProfile();
+	}
+
+	@Override
+	public void setProfile(Map<String, Object> profile) {
+		super.setProfile(profile);
+		this.profileResolved = true;
+	}
+
+	/**
+	 * 延迟加载 Profile：仅在调用 {@link #getProfile()} 时从缓存获取
+	 * @param profileCache 用户 Profile 缓存
+	 */
+	public void setProfileCache(JwtProfileCache profileCache) {
+		this.profileCache = profileCache;
+		this.profileResolved = profileCache == null;
+	}
+
+	public AuthorizationInfo getAuthorizationInfo() {
+		return authorizationInfo;
+	}
+
+	public void setAuthorizationInfo(AuthorizationInfo authorizationInfo) {
+		this.authorizationInfo = authorizationInfo;
+	}
+
+	public String getReference() {
+		return reference;
+	}
+
+	public void setReference(String reference) {
+		this.reference = reference;
+	}
 	
 }
@@ -20,7 +20,21 @@ import org.apache.shiro.authc.AuthenticationInfo;
 import org.apache.shiro.authc.AuthenticationToken;
 import org.apache.shiro.authc.SimpleAuthenticationInfo;
 import org.apache.shiro.biz.authz.principal.ShiroPrincipalRepositoryImpl;
+import org.apache.shiro.spring.boot.jwt.exception.ExpiredJwtException;
+import org.apache.shiro.spring.boot.jwt.exception.InvalidJwtToken;
+import org.apache.shiro.spring.boot.jwt.exception.JwtFailureReason;
+import org.apache.shiro.spring.boot.jwt.invalidation.JwtValidAfterRegistry;
+import org.apache.shiro.spring.boot.jwt.profile.JwtProfileCache;
+import org.apache.shiro.spring.boot.jwt.revocation.MappedJwtRevocationStore;
 import org.apache.shiro.spring.boot.jwt.token.JwtAuthorizationToken;
+import org.apache.shiro.spring.boot.jwt.trace.JwtSpan;
+import org.apache.shiro.spring.boot.jwt.trace.JwtTraceStage;
+import org.apache.shiro.spring.boot.jwt.trace.JwtTracing;
+import org.apache.shiro.spring.boot.jwt.token.JwtExpiryPrecheck;
+import org.apache.shiro.spring.boot.jwt.token.JwtReferenceToken;
+import org.apache.shiro.spring.boot.jwt.token.JwtReferenceTokenStore;
+
+import org.springframework.util.CollectionUtils;
 
 import com.github.hiwepy.jwt.JwtPayload;
 
@@ -35,6 +49,26 @@ public class JwtPrincipalRepository extends ShiroPrincipalRepositoryImpl {
      * If Check JWT Validity.
      */
     private boolean checkExpiry = false;
+    /**
+     * Reference Token Store, If Not Null The Client Submits Reference Instead Of JWT.
+     */
+    private JwtReferenceTokenStore referenceTokenStore;
+    /**
+     * Profile Cache, If Not Null The Profile Claim Is Left Out Of JWT And Loaded Lazily.
+     */
+    private JwtProfileCache profileCache;
+    /**
+     * Expiry Precheck, Rejects Stale Token Before Signature Verification.
+     */
+    private JwtExpiryPrecheck expiryPrecheck;
+    /**
+     * Valid-After Registry, Rejects Token Issued Before The Subject/Role Invalidation.
+     */
+    private JwtValidAfterRegistry validAfterRegistry;
+    /**
+     * Revocation Store, Rejects Revoked Token (jti) And Token Issued Before The Persisted Subject Watermark.
+     */
+    private MappedJwtRevocationStore revocationStore;
 
     public JwtPrincipalRepository(JwtPayloadRepository jwtPayloadRepository) {
     	this.jwtPayloadRepository = jwtPayloadRepository;
@@ -45,7 +79,19 @@ public class JwtPrincipalRepository extends ShiroPrincipalRepositoryImpl {
 
 		JwtAuthorizationToken jwtToken = (JwtAuthorizationToken) token;
 
-		JwtPayload payload = getJwtPayloadRepository().getPayload(jwtToken, isCheckExpiry());
+		JwtPayload payload;
+		JwtSpan span = JwtTracing.start(JwtTraceStage.PAYLOAD_DECODE);
+		try {
+			payload = getPayload(jwtToken);
+			span.setAttribute(JwtSpan.TOKEN_SIZE, jwtToken.getToken() == null ? 0 : jwtToken.getToken().length());
+			span.setAttribute(JwtSpan.ROLE_COUNT, payload.getRoles() == null ? 0 : payload.getRoles().size());
+			span.setAttribute(JwtSpan.PERMISSION_COUNT, payload.getPerms() == null ? 0 : payload.getPerms().size());
+		} catch (AuthenticationException e) {
+			span.recordFailure(JwtFailureReason.of(e));
+			throw e;
+		} finally {
+			span.end();
+		}
 
 		JwtPayloadPrincipal principal = new JwtPayloadPrincipal(payload);
 
@@ -57,12 +103,60 @@ public class JwtPrincipalRepository extends ShiroPrincipalRepositoryImpl {
 		principal.setUserkey(payload.getUkey());
 		principal.setUsercode(payload.getUcode());
 		principal.setInitial(payload.isInitial());
-		principal.setProfile(payload.getProfile());
+		// 主张投影：JWT未携带Profile时延迟从缓存加载
+		if (getProfileCache() != null && CollectionUtils.isEmpty(payload.getProfile())) {
+			principal.setProfileCache(getProfileCache());
+		} else {
+			principal.setProfile(payload.getProfile());
+		}
+		// 引用令牌：记录引用，注销登录时删除
+		if (getReferenceTokenStore() != null && getReferenceTokenStore().isReference(jwtToken.getToken())) {
+			principal.setReference(jwtToken.getToken());
+		}
 
 
 		return new SimpleAuthenticationInfo(principal, jwtToken.getCredentials(), "JWT");
 	}
 
+	protected JwtPayload getPayload(JwtAuthorizationToken jwtToken) throws AuthenticationException {
+		// 引用令牌：直接从服务端存储中获取签发时已验证的载荷，无需再次验签
+		if (getReferenceTokenStore() != null && getReferenceTokenStore().isReference(jwtToken.getToken())) {
+			JwtReferenceToken referenceToken = getReferenceTokenStore().get(jwtToken.getToken());
+			if (referenceToken == null) {
+				throw new InvalidJwtToken("Invalid JWT reference.");
+			}
+			if (referenceToken.isExpired(System.currentTimeMillis())) {
+				throw new ExpiredJwtException("Expired JWT reference.");
+			}
+			checkValidAfter(referenceToken.getPayload());
+			return referenceToken.getPayload();
+		}
+		// 预检：签名验证之前拒绝已过期或尚未生效的令牌
+		if (isCheckExpiry() && getExpiryPrecheck() != null) {
+			getExpiryPrecheck().check(jwtToken.getToken());
+		}
+		JwtPayload payload = getJwtPayloadRepository().getPayload(jwtToken, isCheckExpiry());
+		checkValidAfter(payload);
+		return payload;
+	}
+
+	/*
+	 * 拒绝已吊销或失效水位之前签发的令牌，签发时间取自已解析载荷的 iat 主张，无需再次解码令牌；
+	 * 启用吊销存储时主体水位只保存在吊销存储中，由此处统一检查
+	 */
+	protected void checkValidAfter(JwtPayload payload) throws AuthenticationException {
+		if (payload == null) {
+			return;
+		}
+		long issuedAt = payload.getIssuedAt() == null ? 0L : payload.getIssuedAt().getTime();
+		if (getValidAfterRegistry() != null) {
+			getValidAfterRegistry().check(payload.getSubject(), payload.getRoles(), issuedAt);
+		}
+		if (getRevocationStore() != null && getRevocationStore().isRevoked(payload.getTokenId(), payload.getSubject(), issuedAt)) {
+			throw new InvalidJwtToken("JWT has been revoked.");
+		}
+	}
+
 	public JwtPayloadRepository getJwtPayloadRepository() {
 		return jwtPayloadRepository;
 	}
@@ -75,5 +169,44 @@ public class JwtPrincipalRepository extends ShiroPrincipalRepositoryImpl {
 		this.checkExpiry = checkExpiry;
 	}
 
+	public JwtReferenceTokenStore getReferenceTokenStore() {
+		return referenceTokenStore;
+	}
+
+	public void setReferenceTokenStore(JwtReferenceTokenStore referenceTokenStore) {
+		this.referenceTokenStore = referenceTokenStore;
+	}
+
+	public JwtProfileCache getProfileCache() {
+		return profileCache;
+	}
+
+	public void setProfileCache(JwtProfileCache profileCache) {
+		this.profileCache = profileCache;
+	}
+
+	public JwtExpiryPrecheck getExpiryPrecheck() {
+		return expiryPrecheck;
+	}
+
+	public void setExpiryPrecheck(JwtExpiryPrecheck expiryPrecheck) {
+		this.expiryPrecheck = expiryPrecheck;
+	}
+
+	public JwtValidAfterRegistry getValidAfterRegistry() {
+		return validAfterRegistry;
+	}
+
+	public void setValidAfterRegistry(JwtValidAfterRegistry validAfterRegistry) {
+		this.validAfterRegistry = validAfterRegistry;
+	}
+
+	public MappedJwtRevocationStore getRevocationStore() {
+		return revocationStore;
+	}
+
+	public void setRevocationStore(MappedJwtRevocationStore revocationStore) {
+		this.revocationStore = revocationStore;
+	}
 
 }
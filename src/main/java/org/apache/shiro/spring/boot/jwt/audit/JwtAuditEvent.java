@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.shiro.spring.boot.jwt.audit;
+
+import org.apache.shiro.spring.boot.jwt.exception.JwtFailureReason;
+
+/**
+ * JWT 认证审计事件，创建后不可变
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+public final class JwtAuditEvent {
+
+	public enum Type {
+		SUCCESS, FAILURE
+	}
+
+	private final long timestamp;
+	private final Type type;
+	private final String subject;
+	private final String tokenId;
+	private final String host;
+	private final JwtFailureReason reason;
+	private final String message;
+
+	public JwtAuditEvent(long timestamp, Type type, String subject, String tokenId, String host,
+			JwtFailureReason reason, String message) {
+		this.timestamp = timestamp;
+		this.type = type;
+		this.subject = subject;
+		this.tokenId = tokenId;
+		this.host = host;
+		this.reason = reason;
+		this.message = message;
+	}
+
+	public static JwtAuditEvent success(String subject, String tokenId, String host) {
+		return new JwtAuditEvent(System.currentTimeMillis(), Type.SUCCESS, subject, tokenId, host, null, null);
+	}
+
+	public static JwtAuditEvent failure(String host, JwtFailureReason reason, String message) {
+		return new JwtAuditEvent(System.currentTimeMillis(), Type.FAILURE, null, null, host, reason, message);
+	}
+
+	public long getTimestamp() {
+		return timestamp;
+	}
+
+	public Type getType() {
+		return type;
+	}
+
+	public String getSubject() {
+		return subject;
+	}
+
+	public String getTokenId() {
+		return tokenId;
+	}
+
+	public String getHost() {
+		return host;
+	}
+
+	public JwtFailureReason getReason() {
+		return reason;
+	}
+
+	public String getMessage() {
+		return message;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder(128);
+		builder.append("timestamp=").append(timestamp).append(", type=").append(type);
+		builder.append(", subject=").append(subject).append(", jti=").append(tokenId).append(", host=").append(host);
+		if (reason != null) {
+			builder.append(", reason=").append(reason).append(", message=").append(message);
+		}
+		return builder.toString();
+	}
+
+}
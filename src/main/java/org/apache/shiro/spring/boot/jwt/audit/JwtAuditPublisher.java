@@ -0,0 +1,258 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.shiro.spring.boot.jwt.audit;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.apache.shiro.authc.AuthenticationException;
+import org.apache.shiro.spring.boot.jwt.JwtPayloadPrincipal;
+import org.apache.shiro.spring.boot.jwt.crac.JwtCheckpointAware;
+import org.apache.shiro.spring.boot.jwt.exception.JwtFailureReason;
+import org.apache.shiro.subject.Subject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.hiwepy.jwt.JwtPayload;
+
+/**
+ * 审计事件发布器：多生产者单消费者的无锁环形缓冲区 + 后台批量输出线程。
+ * <p>
+ * 请求线程调用 {@link #publish(JwtAuditEvent)} 只需一次 CAS 入队，缓冲区已满时直接丢弃事件并计数，
+ * 不会阻塞请求；后台线程按批次取出事件依次交给各个 {@link JwtAuditSink}，单个 Sink 失败不影响其他 Sink。
+ * </p>
+ * <p>
+ * 检查点之前暂停后台输出并通知实现了 {@link JwtCheckpointAware} 的 Sink 释放文件等资源，恢复之后重新打开并继续输出，
+ * 暂停期间的事件保留在缓冲区中。
+ * </p>
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+public class JwtAuditPublisher implements JwtCheckpointAware {
+
+	private static final Logger LOG = LoggerFactory.getLogger(JwtAuditPublisher.class);
+
+	/** 默认缓冲区容量 */
+	public static final int DEFAULT_CAPACITY = 8192;
+	/** 默认每批最多输出的事件数量 */
+	public static final int DEFAULT_BATCH_SIZE = 256;
+
+	private final AtomicReferenceArray<JwtAuditEvent> buffer;
+	private final int mask;
+	/** 生产者申请的下一个位置 */
+	private final AtomicLong producerIndex = new AtomicLong();
+	/** 消费者读取的下一个位置，仅由后台线程写入 */
+	private final AtomicLong consumerIndex = new AtomicLong();
+	private final List<JwtAuditSink> sinks;
+	private final int batchSize;
+	private final long idleNanos;
+
+	private final LongAdder published = new LongAdder();
+	private final LongAdder dropped = new LongAdder();
+	private final LongAdder written = new LongAdder();
+	private final LongAdder sinkFailures = new LongAdder();
+
+	private final Thread drainer;
+	/** 后台线程输出期间持有，检查点回调借此等待正在进行的输出结束 */
+	private final Object drainLock = new Object();
+	private volatile boolean running = true;
+	private volatile boolean paused = false;
+
+	public JwtAuditPublisher(List<JwtAuditSink> sinks) {
+		this(sinks, DEFAULT_CAPACITY, DEFAULT_BATCH_SIZE, 100);
+	}
+
+	/**
+	 * @param sinks 审计输出
+	 * @param capacity 缓冲区容量，向上取整为2的幂
+	 * @param batchSize 每批最多输出的事件数量
+	 * @param idleMillis 缓冲区为空时后台线程的休眠时间（毫秒）
+	 */
+	public JwtAuditPublisher(List<JwtAuditSink> sinks, int capacity, int batchSize, long idleMillis) {
+		int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+		this.buffer = new AtomicReferenceArray<JwtAuditEvent>(size);
+		this.mask = size - 1;
+		this.sinks = new ArrayList<JwtAuditSink>(sinks);
+		this.batchSize = Math.max(1, batchSize);
+		this.idleNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, idleMillis));
+		this.drainer = new Thread(this::drainLoop, "shiro-jwt-audit");
+		this.drainer.setDaemon(true);
+		this.drainer.start();
+	}
+
+	/**
+	 * 发布审计事件
+	 * @param event 审计事件
+	 * @return 是否入队成功，缓冲区已满或发布器已关闭时返回 false
+	 */
+	public boolean publish(JwtAuditEvent event) {
+		if (event == null || !running) {
+			return false;
+		}
+		long index;
+		do {
+			index = producerIndex.get();
+			if (index - consumerIndex.get() > mask) {
+				dropped.increment();
+				return false;
+			}
+		} while (!producerIndex.compareAndSet(index, index + 1));
+		buffer.lazySet((int) index & mask, event);
+		published.increment();
+		return true;
+	}
+
+	/**
+	 * 发布认证成功事件
+	 * @param subject 已登录的主体
+	 * @param host 客户端地址
+	 */
+	public boolean publishSuccess(Subject subject, String host) {
+		Object principal = subject == null ? null : subject.getPrincipal();
+		if (principal instanceof JwtPayloadPrincipal && ((JwtPayloadPrincipal) principal).getPayload() != null) {
+			JwtPayload payload = ((JwtPayloadPrincipal) principal).getPayload();
+			return publish(JwtAuditEvent.success(payload.getSubject(), payload.getTokenId(), host));
+		}
+		return publish(JwtAuditEvent.success(principal == null ? null : principal.toString(), null, host));
+	}
+
+	/**
+	 * 发布认证失败事件
+	 * @param host 客户端地址
+	 * @param ex 认证异常
+	 */
+	public boolean publishFailure(String host, AuthenticationException ex) {
+		return publish(JwtAuditEvent.failure(host, JwtFailureReason.of(ex), ex == null ? null : ex.getMessage()));
+	}
+
+	private void drainLoop() {
+		List<JwtAuditEvent> batch = new ArrayList<JwtAuditEvent>(batchSize);
+		while (running) {
+			if (drainUnlessPaused(batch) == 0) {
+				LockSupport.parkNanos(this, idleNanos);
+			}
+		}
+		// 关闭前输出剩余事件
+		while (drainUnlessPaused(batch) > 0) {
+		}
+	}
+
+	private int drainUnlessPaused(List<JwtAuditEvent> batch) {
+		synchronized (drainLock) {
+			return paused ? 0 : drain(batch);
+		}
+	}
+
+	private int drain(List<JwtAuditEvent> batch) {
+		long index = consumerIndex.get();
+		while (batch.size() < batchSize) {
+			int offset = (int) index & mask;
+			JwtAuditEvent event = buffer.get(offset);
+			// 位置已申请但事件尚未写入，或缓冲区为空
+			if (event == null) {
+				break;
+			}
+			buffer.lazySet(offset, null);
+			batch.add(event);
+			index++;
+			consumerIndex.lazySet(index);
+		}
+		int count = batch.size();
+		if (count > 0) {
+			for (JwtAuditSink sink : sinks) {
+				try {
+					sink.write(batch);
+				} catch (Exception e) {
+					sinkFailures.increment();
+					LOG.warn("Audit sink {} failed: {}", sink.getClass().getName(), e.getMessage());
+				}
+			}
+			written.add(count);
+			batch.clear();
+		}
+		return count;
+	}
+
+	/**
+	 * 停止接收事件，输出剩余事件后关闭各个 Sink
+	 */
+	public void shutdown() {
+		running = false;
+		LockSupport.unpark(drainer);
+		try {
+			drainer.join(TimeUnit.SECONDS.toMillis(5));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		for (JwtAuditSink sink : sinks) {
+			sink.close();
+		}
+	}
+
+	@Override
+	public void beforeCheckpoint() {
+		synchronized (drainLock) {
+			paused = true;
+			for (JwtAuditSink sink : sinks) {
+				if (sink instanceof JwtCheckpointAware) {
+					((JwtCheckpointAware) sink).beforeCheckpoint();
+				}
+			}
+		}
+	}
+
+	@Override
+	public void afterRestore() {
+		synchronized (drainLock) {
+			for (JwtAuditSink sink : sinks) {
+				if (sink instanceof JwtCheckpointAware) {
+					((JwtCheckpointAware) sink).afterRestore();
+				}
+			}
+			paused = false;
+		}
+		LockSupport.unpark(drainer);
+	}
+
+	public boolean isPaused() {
+		return paused;
+	}
+
+	public long getPublishedCount() {
+		return published.sum();
+	}
+
+	public long getDroppedCount() {
+		return dropped.sum();
+	}
+
+	public long getWrittenCount() {
+		return written.sum();
+	}
+
+	public long getSinkFailureCount() {
+		return sinkFailures.sum();
+	}
+
+	public int getCapacity() {
+		return mask + 1;
+	}
+
+}
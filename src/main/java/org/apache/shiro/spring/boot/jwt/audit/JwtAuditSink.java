@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.shiro.spring.boot.jwt.audit;
+
+import java.util.List;
+
+/**
+ * 审计事件输出 SPI，由后台线程按批次调用，实现无需考虑并发
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+public interface JwtAuditSink {
+
+	/**
+	 * 输出一批审计事件
+	 * @param events 审计事件，调用结束后会被复用，实现不能持有其引用
+	 * @throws Exception 输出失败时抛出，不影响其他 Sink
+	 */
+	void write(List<JwtAuditEvent> events) throws Exception;
+
+	/**
+	 * 发布器关闭时调用，释放资源
+	 */
+	default void close() {
+	}
+
+}
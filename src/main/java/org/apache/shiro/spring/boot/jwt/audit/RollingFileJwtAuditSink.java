@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.shiro.spring.boot.jwt.audit;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.apache.shiro.spring.boot.jwt.crac.JwtCheckpointAware;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 按大小滚动的审计文件：当前文件超过 maxFileSize 后依次重命名为 file.1 … file.N，超出 maxHistory 的最旧文件被删除；
+ * 检查点之前刷新并关闭文件，恢复之后重新打开
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+public class RollingFileJwtAuditSink implements JwtAuditSink, JwtCheckpointAware {
+
+	private static final Logger LOG = LoggerFactory.getLogger(RollingFileJwtAuditSink.class);
+
+	private final File file;
+	private final long maxFileSize;
+	private final int maxHistory;
+	private Writer writer;
+	private long written;
+
+	public RollingFileJwtAuditSink(String path, long maxFileSize, int maxHistory) {
+		this.file = new File(path);
+		this.maxFileSize = maxFileSize;
+		this.maxHistory = maxHistory;
+	}
+
+	@Override
+	public synchronized void write(List<JwtAuditEvent> events) throws IOException {
+		if (writer == null) {
+			open();
+		}
+		for (JwtAuditEvent event : events) {
+			String line = event.toString();
+			writer.write(line);
+			writer.write('\n');
+			// 按 UTF-8 编码后的字节数计算，与 file.length() 保持一致
+			written += line.getBytes(StandardCharsets.UTF_8).length + 1;
+		}
+		writer.flush();
+		if (maxFileSize > 0 && written >= maxFileSize) {
+			roll();
+		}
+	}
+
+	protected void open() throws IOException {
+		File parent = file.getAbsoluteFile().getParentFile();
+		if (parent != null && !parent.exists() && !parent.mkdirs()) {
+			throw new IOException("Unable to create directory " + parent);
+		}
+		written = file.length();
+		writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file, true), StandardCharsets.UTF_8));
+	}
+
+	protected void roll() throws IOException {
+		close();
+		for (int i = maxHistory; i >= 1; i--) {
+			File source = i == 1 ? file : new File(file.getPath() + "." + (i - 1));
+			File target = new File(file.getPath() + "." + i);
+			if (source.exists()) {
+				if (target.exists() && !target.delete()) {
+					LOG.warn("Unable to delete audit file {}", target);
+				}
+				if (!source.renameTo(target)) {
+					LOG.warn("Unable to rename audit file {} to {}", source, target);
+				}
+			}
+		}
+		if (maxHistory <= 0 && file.exists() && !file.delete()) {
+			LOG.warn("Unable to delete audit file {}", file);
+		}
+		open();
+	}
+
+	@Override
+	public synchronized void beforeCheckpoint() {
+		close();
+	}
+
+	@Override
+	public synchronized void afterRestore() {
+		if (writer == null) {
+			try {
+				open();
+			} catch (IOException e) {
+				// 下一次 write 时再尝试打开
+				LOG.warn("Unable to reopen audit file {}: {}", file, e.getMessage());
+			}
+		}
+	}
+
+	@Override
+	public synchronized void close() {
+		if (writer != null) {
+			try {
+				writer.close();
+			} catch (IOException e) {
+				LOG.warn(e.getMessage());
+			}
+			writer = null;
+		}
+	}
+
+	public synchronized boolean isOpen() {
+		return writer != null;
+	}
+
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.shiro.spring.boot.jwt.audit;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 通过 SLF4J 输出审计事件，默认使用名为 <code>shiro.jwt.audit</code> 的 Logger
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+public class Slf4jJwtAuditSink implements JwtAuditSink {
+
+	public static final String DEFAULT_LOGGER_NAME = "shiro.jwt.audit";
+
+	private final Logger logger;
+
+	public Slf4jJwtAuditSink() {
+		this(DEFAULT_LOGGER_NAME);
+	}
+
+	public Slf4jJwtAuditSink(String loggerName) {
+		this.logger = LoggerFactory.getLogger(loggerName);
+	}
+
+	@Override
+	public void write(List<JwtAuditEvent> events) {
+		if (!logger.isInfoEnabled()) {
+			return;
+		}
+		for (JwtAuditEvent event : events) {
+			logger.info("{}", event);
+		}
+	}
+
+}
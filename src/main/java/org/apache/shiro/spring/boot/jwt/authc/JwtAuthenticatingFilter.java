@@ -25,6 +25,8 @@ import javax.servlet.http.HttpServletRequest;
 
 import org.apache.shiro.authc.AuthenticationException;
 import org.apache.shiro.authc.AuthenticationToken;
+import org.apache.shiro.authc.ExcessiveAttemptsException;
+import org.apache.shiro.authc.UsernamePasswordToken;
 import org.apache.shiro.biz.authc.AuthcResponse;
 import org.apache.shiro.biz.utils.StringUtils;
 import org.apache.shiro.biz.utils.WebUtils;
@@ -32,9 +34,16 @@ import org.apache.shiro.biz.web.filter.authc.PostLoginRequest;
 import org.apache.shiro.biz.web.filter.authc.TrustableRestAuthenticatingFilter;
 import org.apache.shiro.biz.web.servlet.http.HttpStatus;
 import org.apache.shiro.spring.boot.jwt.JwtPayloadRepository;
+import org.apache.shiro.spring.boot.jwt.audit.JwtAuditPublisher;
+import org.apache.shiro.spring.boot.jwt.authc.throttle.LoginThrottle;
 import org.apache.shiro.spring.boot.jwt.exception.InvalidJwtToken;
+import org.apache.shiro.spring.boot.jwt.exception.JwtFailureReason;
 import org.apache.shiro.spring.boot.jwt.token.JwtAuthorizationToken;
+import org.apache.shiro.spring.boot.jwt.token.JwtReferenceTokenStore;
 import org.apache.shiro.spring.boot.jwt.token.JwtAuthenticationToken;
+import org.apache.shiro.spring.boot.jwt.trace.JwtSpan;
+import org.apache.shiro.spring.boot.jwt.trace.JwtTraceStage;
+import org.apache.shiro.spring.boot.jwt.trace.JwtTracing;
 import org.apache.shiro.subject.Subject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -64,6 +73,12 @@ public class JwtAuthenticatingFilter extends TrustableRestAuthenticatingFilter {
 	private JwtPayloadRepository jwtPayloadRepository;
 	/** If Check JWT Validity. */
 	private boolean checkExpiry = false;
+	/** Reference Token Store, Reference Token Was Verified When Issued. */
+	private JwtReferenceTokenStore referenceTokenStore;
+	/** Audit Publisher, Authentication Results Are Enqueued And Written Asynchronously. */
+	private JwtAuditPublisher auditPublisher;
+	/** Login Throttle, Checked Before The Realm Verifies Credentials. */
+	private LoginThrottle loginThrottle;
 	private ObjectMapper objectMapper = new ObjectMapper();
 
 	public JwtAuthenticatingFilter() {
@@ -82,18 +97,38 @@ public class JwtAuthenticatingFilter extends TrustableRestAuthenticatingFilter {
 					//Step 2、委托给Realm进行登录
 					Subject subject = getSubject(request, response);
 					subject.login(token);
-					if(checkExpiry) {
+					if(checkExpiry && !isReferenceToken(token)) {
 						// Step 3、委托给JwtPayloadRepository进行Token验证
-						boolean accessAllowed = getJwtPayloadRepository().verify(token, subject, isCheckExpiry());
+						JwtSpan verifySpan = JwtTracing.start(JwtTraceStage.SIGNATURE_VERIFY);
+						boolean accessAllowed;
+						try {
+							accessAllowed = getJwtPayloadRepository().verify(token, subject, isCheckExpiry());
+							if (!accessAllowed) {
+								verifySpan.recordFailure(JwtFailureReason.INVALID);
+							}
+						} finally {
+							verifySpan.end();
+						}
 						if (!accessAllowed) {
 							throw new InvalidJwtToken("Invalid JWT value.");
 						}
 					}
 					//Step 3、执行授权成功后的函数
+					if (getAuditPublisher() != null) {
+						getAuditPublisher().publishSuccess(subject, WebUtils.getRemoteAddr(request));
+					}
 					return onAccessSuccess(token, subject, request, response);
 				} catch (AuthenticationException e) {
 					//Step 4、执行授权失败后的函数
-					return onAccessFailure(token, e, request, response);
+					if (getAuditPublisher() != null) {
+						getAuditPublisher().publishFailure(WebUtils.getRemoteAddr(request), e);
+					}
+					JwtSpan failureSpan = JwtTracing.start(JwtTraceStage.FAILURE_RESPONSE).recordFailure(JwtFailureReason.of(e));
+					try {
+						return onAccessFailure(token, e, request, response);
+					} finally {
+						failureSpan.end();
+					}
 				}
 			}
 			// 要求认证
@@ -147,8 +182,67 @@ public class JwtAuthenticatingFilter extends TrustableRestAuthenticatingFilter {
 		return false;
 	}
 
+	@Override
+	protected boolean executeLogin(ServletRequest request, ServletResponse response) throws Exception {
+		LoginThrottle throttle = getLoginThrottle();
+		if (throttle == null) {
+			return super.executeLogin(request, response);
+		}
+		// Step 1、按客户端IP限流，在解析登录参数之前执行
+		if (!throttle.tryAcquireAddress(request)) {
+			if (LOG.isDebugEnabled()) {
+				LOG.debug("Login attempts from [{}] exceed the threshold.", WebUtils.getRemoteAddr(request));
+			}
+			throttle.writeRejected(response);
+			return false;
+		}
+		// Step 2、按用户名限流在 createToken 中执行，其余流程与 AuthenticatingFilter 一致
+		try {
+			return super.executeLogin(request, response);
+		} catch (ExcessiveAttemptsException e) {
+			if (LOG.isDebugEnabled()) {
+				LOG.debug(e.getMessage());
+			}
+			throttle.writeRejected(response);
+			return false;
+		}
+	}
+
+	@Override
+	protected boolean onLoginSuccess(AuthenticationToken token, Subject subject, ServletRequest request,
+			ServletResponse response) throws Exception {
+		if (getLoginThrottle() != null) {
+			getLoginThrottle().onLoginSuccess(getUsername(token));
+		}
+		if (getAuditPublisher() != null) {
+			getAuditPublisher().publishSuccess(subject, WebUtils.getRemoteAddr(request));
+		}
+		return super.onLoginSuccess(token, subject, request, response);
+	}
+
+	@Override
+	protected boolean onLoginFailure(AuthenticationToken token, AuthenticationException e, ServletRequest request,
+			ServletResponse response) {
+		if (getAuditPublisher() != null) {
+			getAuditPublisher().publishFailure(WebUtils.getRemoteAddr(request), e);
+		}
+		return super.onLoginFailure(token, e, request, response);
+	}
+
+	/*
+	 * 按用户名限流：在委托Realm校验凭证之前执行，超过阈值时抛出的异常由 executeLogin 转换为限流响应
+	 */
 	@Override
 	protected AuthenticationToken createToken(ServletRequest request, ServletResponse response) {
+		AuthenticationToken token = createLoginToken(request, response);
+		String username = getUsername(token);
+		if (getLoginThrottle() != null && !getLoginThrottle().tryAcquireUsername(username)) {
+			throw new ExcessiveAttemptsException("Login attempts for [" + username + "] exceed the threshold.");
+		}
+		return token;
+	}
+
+	protected AuthenticationToken createLoginToken(ServletRequest request, ServletResponse response) {
 		// Post && JSON
 		if(WebUtils.isObjectRequest(request)) {
 
@@ -189,9 +283,24 @@ public class JwtAuthenticatingFilter extends TrustableRestAuthenticatingFilter {
 	}
 
 	protected AuthenticationToken createJwtToken(ServletRequest request, ServletResponse response) {
-		String host = WebUtils.getRemoteAddr(request);
-		String jwtToken = getAccessToken(request);
-		return new JwtAuthorizationToken(host, jwtToken, isRememberMe(request));
+		JwtSpan span = JwtTracing.start(JwtTraceStage.TOKEN_RESOLUTION);
+		try {
+			String host = WebUtils.getRemoteAddr(request);
+			String jwtToken = getAccessToken(request);
+			span.setAttribute(JwtSpan.TOKEN_SIZE, jwtToken == null ? 0 : jwtToken.length());
+			return new JwtAuthorizationToken(host, jwtToken, isRememberMe(request));
+		} finally {
+			span.end();
+		}
+	}
+
+    protected String getUsername(AuthenticationToken token) {
+		return token instanceof UsernamePasswordToken ? ((UsernamePasswordToken) token).getUsername() : null;
+	}
+
+    protected boolean isReferenceToken(AuthenticationToken token) {
+		return getReferenceTokenStore() != null && token instanceof JwtAuthorizationToken
+				&& getReferenceTokenStore().isReference(((JwtAuthorizationToken) token).getToken());
 	}
 
     protected boolean isJwtSubmission(ServletRequest request, ServletResponse response) {
@@ -264,4 +373,28 @@ public class JwtAuthenticatingFilter extends TrustableRestAuthenticatingFilter {
 		this.checkExpiry = checkExpiry;
 	}
 
+	public JwtReferenceTokenStore getReferenceTokenStore() {
+		return referenceTokenStore;
+	}
+
+	public void setReferenceTokenStore(JwtReferenceTokenStore referenceTokenStore) {
+		this.referenceTokenStore = referenceTokenStore;
+	}
+
+	public LoginThrottle getLoginThrottle() {
+		return loginThrottle;
+	}
+
+	public void setLoginThrottle(LoginThrottle loginThrottle) {
+		this.loginThrottle = loginThrottle;
+	}
+
+	public JwtAuditPublisher getAuditPublisher() {
+		return auditPublisher;
+	}
+
+	public void setAuditPublisher(JwtAuditPublisher auditPublisher) {
+		this.auditPublisher = auditPublisher;
+	}
+
 }
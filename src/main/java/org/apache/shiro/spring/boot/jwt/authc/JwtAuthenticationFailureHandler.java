@@ -27,14 +27,11 @@ import org.apache.shiro.authc.AuthenticationToken;
 import org.apache.shiro.biz.authc.AuthcResponse;
 import org.apache.shiro.biz.authc.AuthcResponseCode;
 import org.apache.shiro.biz.authc.AuthenticationFailureHandler;
-import org.apache.shiro.biz.utils.SubjectUtils;
 import org.apache.shiro.biz.utils.WebUtils;
 import org.apache.shiro.biz.web.servlet.http.HttpStatus;
 import org.apache.shiro.spring.boot.jwt.ShiroJwtMessageSource;
-import org.apache.shiro.spring.boot.jwt.exception.ExpiredJwtException;
-import org.apache.shiro.spring.boot.jwt.exception.IncorrectJwtException;
-import org.apache.shiro.spring.boot.jwt.exception.InvalidJwtToken;
-import org.apache.shiro.spring.boot.jwt.exception.NotObtainedJwtException;
+import org.apache.shiro.spring.boot.jwt.exception.JwtAuthenticationException;
+import org.apache.shiro.spring.boot.jwt.exception.JwtFailureReason;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.NoSuchMessageException;
@@ -51,8 +48,7 @@ public class JwtAuthenticationFailureHandler implements AuthenticationFailureHan
 
 	@Override
 	public boolean supports(AuthenticationException ex) {
-		return SubjectUtils.isAssignableFrom(ex.getClass(), ExpiredJwtException.class,
-				IncorrectJwtException.class, InvalidJwtToken.class, NotObtainedJwtException.class);
+		return ex instanceof JwtAuthenticationException;
 	}
 
 	@Override
@@ -69,28 +65,20 @@ public class JwtAuthenticationFailureHandler implements AuthenticationFailureHan
 			response.setContentType(MediaType.APPLICATION_JSON_VALUE);
 			response.setCharacterEncoding(StandardCharsets.UTF_8.toString());
 
-			// Jwt过期
-			if (ex instanceof ExpiredJwtException) {
-				JSONObject.writeJSONString(response.getOutputStream(), AuthcResponse.error(AuthcResponseCode.SC_AUTHZ_TOKEN_EXPIRED.getCode(),
-						messages.getMessage(AuthcResponseCode.SC_AUTHZ_TOKEN_EXPIRED.getMsgKey(), ex.getMessage())));
-			}
-			// Jwt错误
-			else if (ex instanceof IncorrectJwtException) {
-				JSONObject.writeJSONString(response.getOutputStream(), AuthcResponse.error(AuthcResponseCode.SC_AUTHZ_TOKEN_INCORRECT.getCode(),
-						messages.getMessage(AuthcResponseCode.SC_AUTHZ_TOKEN_INCORRECT.getMsgKey(), ex.getMessage())));
-			}
-			// Jwt无效
-			else if (ex instanceof InvalidJwtToken) {
-				JSONObject.writeJSONString(response.getOutputStream(), AuthcResponse.error(AuthcResponseCode.SC_AUTHZ_TOKEN_INVALID.getCode(),
-						messages.getMessage(AuthcResponseCode.SC_AUTHZ_TOKEN_INVALID.getMsgKey(), ex.getMessage())));
-			}
-			// Jwt缺失
-			else if (ex instanceof NotObtainedJwtException) {
-				JSONObject.writeJSONString(response.getOutputStream(), AuthcResponse.error(AuthcResponseCode.SC_AUTHZ_TOKEN_REQUIRED.getCode(),
-						messages.getMessage(AuthcResponseCode.SC_AUTHZ_TOKEN_REQUIRED.getMsgKey(), ex.getMessage())));
-			} else {
+			JwtFailureReason reason = JwtFailureReason.of(ex);
+			switch (reason) {
+			// Jwt过期、错误、无效、缺失
+			case EXPIRED:
+			case INCORRECT:
+			case INVALID:
+			case REQUIRED:
+				JSONObject.writeJSONString(response.getOutputStream(), AuthcResponse.error(reason.getResponseCode().getCode(),
+						messages.getMessage(reason.getResponseCode().getMsgKey(), ex.getMessage())));
+				break;
+			default:
 				JSONObject.writeJSONString(response.getOutputStream(), AuthcResponse.error(AuthcResponseCode.SC_AUTHC_FAIL.getCode(),
 						messages.getMessage(AuthcResponseCode.SC_AUTHC_FAIL.getMsgKey())));
+				break;
 			}
 		} catch (NoSuchMessageException e) {
 			LOG.error(e.getMessage());
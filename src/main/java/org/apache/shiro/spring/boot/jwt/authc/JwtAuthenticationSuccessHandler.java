@@ -17,6 +17,7 @@ package org.apache.shiro.spring.boot.jwt.authc;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
 import java.util.Map;
 
 import javax.servlet.ServletRequest;
@@ -29,13 +30,18 @@ import org.apache.shiro.biz.utils.SubjectUtils;
 import org.apache.shiro.biz.utils.WebUtils;
 import org.apache.shiro.biz.web.servlet.http.HttpStatus;
 import org.apache.shiro.spring.boot.jwt.JwtPayloadRepository;
+import org.apache.shiro.spring.boot.jwt.profile.JwtProfileCache;
 import org.apache.shiro.spring.boot.jwt.token.JwtAuthenticationToken;
+import org.apache.shiro.spring.boot.jwt.token.JwtReferenceTokenStore;
 import org.apache.shiro.spring.boot.utils.SubjectJwtUtils;
 import org.apache.shiro.subject.Subject;
+import org.springframework.beans.BeanUtils;
 import org.springframework.core.Ordered;
 import org.springframework.http.MediaType;
+import org.springframework.util.StringUtils;
 
 import com.alibaba.fastjson.JSONObject;
+import com.github.hiwepy.jwt.JwtPayload;
 
 
 public class JwtAuthenticationSuccessHandler implements AuthenticationSuccessHandler, Ordered {
@@ -43,6 +49,10 @@ public class JwtAuthenticationSuccessHandler implements AuthenticationSuccessHan
 	private JwtPayloadRepository jwtPayloadRepository;
 	/** If Check JWT Validity. */
 	private boolean checkExpiry = false;
+	/** If Not Null, Return Reference Token Instead Of JWT. */
+	private JwtReferenceTokenStore referenceTokenStore;
+	/** If Not Null, Profile Is Left Out Of JWT And Cached Server-Side. */
+	private JwtProfileCache profileCache;
 
 	public JwtAuthenticationSuccessHandler(JwtPayloadRepository jwtPayloadRepository, boolean checkExpiry) {
 		super();
@@ -65,7 +75,12 @@ public class JwtAuthenticationSuccessHandler implements AuthenticationSuccessHan
 			// 账号首次登陆标记
 			if(ShiroPrincipal.class.isAssignableFrom(subject.getPrincipal().getClass())) {
 				// JSON Web Token (JWT)
-				tokenString = getJwtPayloadRepository().issueJwt(token, subject);
+				tokenString = issueJwt(token, subject);
+				// 引用令牌模式：JWT保存在服务端，客户端仅持有简短的引用
+				if (getReferenceTokenStore() != null && StringUtils.hasText(tokenString)) {
+					JwtPayload payload = getJwtPayloadRepository().getPayload(tokenString, false);
+					tokenString = getReferenceTokenStore().save(tokenString, payload);
+				}
 			}
 
 			Map<String, Object> tokenMap = SubjectJwtUtils.tokenMap(subject, tokenString);
@@ -81,6 +96,26 @@ public class JwtAuthenticationSuccessHandler implements AuthenticationSuccessHan
 
 	}
 
+	protected String issueJwt(AuthenticationToken token, Subject subject) {
+		if (getProfileCache() == null) {
+			return getJwtPayloadRepository().issueJwt(token, subject);
+		}
+		// 主张投影：Profile 缓存在服务端，签发的JWT中不包含Profile
+		ShiroPrincipal principal = (ShiroPrincipal) subject.getPrincipal();
+		getProfileCache().put(principal.getUserid(), principal.getProfile());
+		return getJwtPayloadRepository().issueJwt(projectPrincipal(principal));
+	}
+
+	/*
+	 * 复制除 Profile 之外的主体属性用于签发，不修改 Subject 持有的主体
+	 */
+	protected ShiroPrincipal projectPrincipal(ShiroPrincipal principal) {
+		ShiroPrincipal projection = new ShiroPrincipal();
+		BeanUtils.copyProperties(principal, projection, "profile");
+		projection.setProfile(new HashMap<String, Object>());
+		return projection;
+	}
+
 	@Override
 	public int getOrder() {
 		return Integer.MAX_VALUE - 1;
@@ -102,4 +137,20 @@ public class JwtAuthenticationSuccessHandler implements AuthenticationSuccessHan
 		this.checkExpiry = checkExpiry;
 	}
 
+	public JwtReferenceTokenStore getReferenceTokenStore() {
+		return referenceTokenStore;
+	}
+
+	public void setReferenceTokenStore(JwtReferenceTokenStore referenceTokenStore) {
+		this.referenceTokenStore = referenceTokenStore;
+	}
+
+	public JwtProfileCache getProfileCache() {
+		return profileCache;
+	}
+
+	public void setProfileCache(JwtProfileCache profileCache) {
+		this.profileCache = profileCache;
+	}
+
 }
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.shiro.spring.boot.jwt.authc;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.shiro.authc.AuthenticationException;
+import org.apache.shiro.authc.AuthenticationInfo;
+import org.apache.shiro.authc.AuthenticationToken;
+import org.apache.shiro.authc.pam.ModularRealmAuthenticator;
+import org.apache.shiro.realm.AuthenticatingRealm;
+import org.apache.shiro.realm.Realm;
+
+/**
+ * 按 Token 类型分派的认证器：启动时根据各 Realm 的 {@link AuthenticatingRealm#getAuthenticationTokenClass()}
+ * 建立 Token 类型到候选 Realm 的映射，认证时只对候选 Realm 调用 {@link Realm#supports(AuthenticationToken)}，
+ * 只有一个 Realm 支持时（如 JwtAuthorizationToken）直接交给该 Realm 认证，不再创建多 Realm 认证策略的聚合对象。
+ * <p>
+ * 类型映射只用于预筛选，Realm 重写 supports() 增加的条件仍然生效；
+ * 多个候选 Realm 支持该 Token 时按认证策略依次认证；存在非 {@link AuthenticatingRealm} 的 Realm 或没有 Realm 支持该 Token 时，
+ * 回退到 {@link ModularRealmAuthenticator} 的默认行为。
+ * </p>
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+public class JwtModularRealmAuthenticator extends ModularRealmAuthenticator {
+
+	private final Map<Class<?>, List<Realm>> realmIndex = new ConcurrentHashMap<Class<?>, List<Realm>>();
+	/** 所有 Realm 都可以按 Token 类型分派 */
+	private volatile boolean dispatchable;
+
+	@Override
+	public void setRealms(Collection<Realm> realms) {
+		super.setRealms(realms);
+		realmIndex.clear();
+		dispatchable = realms != null && !realms.isEmpty();
+		if (dispatchable) {
+			for (Realm realm : realms) {
+				if (!(realm instanceof AuthenticatingRealm)) {
+					dispatchable = false;
+					break;
+				}
+				Class<?> tokenClass = ((AuthenticatingRealm) realm).getAuthenticationTokenClass();
+				if (tokenClass != null) {
+					resolveCandidates(tokenClass);
+				}
+			}
+		}
+	}
+
+	@Override
+	protected AuthenticationInfo doAuthenticate(AuthenticationToken authenticationToken) throws AuthenticationException {
+		assertRealmsConfigured();
+		if (dispatchable && authenticationToken != null) {
+			List<Realm> candidates = resolveCandidates(authenticationToken.getClass());
+			if (candidates.size() == 1) {
+				Realm realm = candidates.get(0);
+				if (realm.supports(authenticationToken)) {
+					return doSingleRealmAuthentication(realm, authenticationToken);
+				}
+			} else if (!candidates.isEmpty()) {
+				List<Realm> supporting = new ArrayList<Realm>(candidates.size());
+				for (Realm realm : candidates) {
+					if (realm.supports(authenticationToken)) {
+						supporting.add(realm);
+					}
+				}
+				if (supporting.size() == 1) {
+					return doSingleRealmAuthentication(supporting.get(0), authenticationToken);
+				}
+				if (!supporting.isEmpty()) {
+					return doMultiRealmAuthentication(supporting, authenticationToken);
+				}
+			}
+		}
+		return super.doAuthenticate(authenticationToken);
+	}
+
+	/*
+	 * 查找声明支持指定 Token 类型的候选 Realm（保持配置顺序），结果按类型缓存
+	 */
+	protected List<Realm> resolveCandidates(Class<?> tokenClass) {
+		List<Realm> resolved = realmIndex.get(tokenClass);
+		if (resolved != null) {
+			return resolved;
+		}
+		List<Realm> candidates = new ArrayList<Realm>(1);
+		for (Realm realm : getRealms()) {
+			Class<?> supported = ((AuthenticatingRealm) realm).getAuthenticationTokenClass();
+			if (supported != null && supported.isAssignableFrom(tokenClass)) {
+				candidates.add(realm);
+			}
+		}
+		resolved = Collections.unmodifiableList(candidates);
+		realmIndex.put(tokenClass, resolved);
+		return resolved;
+	}
+
+}
@@ -0,0 +1,223 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.shiro.spring.boot.jwt.authc.credential;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Base64;
+
+import org.apache.shiro.authc.AuthenticationInfo;
+import org.apache.shiro.authc.AuthenticationToken;
+import org.apache.shiro.authc.credential.CredentialsMatcher;
+import org.apache.shiro.spring.boot.jwt.crac.JwtCheckpointAware;
+import org.bouncycastle.crypto.generators.Argon2BytesGenerator;
+import org.bouncycastle.crypto.params.Argon2Parameters;
+
+/**
+ * Argon2id 凭证匹配器（依赖 bcprov）：存储的凭证为 PHC 字符串格式，
+ * 如 <code>$argon2id$v=19$m=65536,t=3,p=1$&lt;salt&gt;$&lt;hash&gt;</code>，校验时使用其中记录的参数，
+ * 调整 {@link #encode(char[])} 使用的参数不影响已存储的凭证。
+ * <p>
+ * Argon2 为内存困难型算法，单次校验会占用数十MB内存，建议配合 {@link IsolatedCredentialsMatcher} 使用以限制并发。
+ * </p>
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+public class Argon2CredentialsMatcher implements CredentialsMatcher, JwtCheckpointAware {
+
+	private static final String PREFIX = "$argon2id$";
+	private static final Base64.Encoder ENCODER = Base64.getEncoder().withoutPadding();
+	private static final Base64.Decoder DECODER = Base64.getDecoder();
+
+	private volatile SecureRandom random = new SecureRandom();
+	/** 内存开销（KB） */
+	private int memory = 65536;
+	/** 迭代次数 */
+	private int iterations = 3;
+	/** 并行度 */
+	private int parallelism = 1;
+	private int saltLength = 16;
+	private int hashLength = 32;
+
+	@Override
+	public boolean doCredentialsMatch(AuthenticationToken token, AuthenticationInfo info) {
+		char[] submitted = toChars(token.getCredentials());
+		Object stored = info.getCredentials();
+		String encoded = stored instanceof char[] ? new String((char[]) stored) : (stored == null ? null : stored.toString());
+		if (submitted == null || encoded == null) {
+			return false;
+		}
+		return matches(submitted, encoded);
+	}
+
+	/**
+	 * 使用当前参数及随机盐生成 PHC 格式的凭证
+	 * @param password 明文密码
+	 * @return PHC 字符串
+	 */
+	public String encode(char[] password) {
+		byte[] salt = new byte[saltLength];
+		random.nextBytes(salt);
+		byte[] hash = hash(password, salt, memory, iterations, parallelism, hashLength);
+		return PREFIX + "v=" + Argon2Parameters.ARGON2_VERSION_13 + "$m=" + memory + ",t=" + iterations + ",p=" + parallelism
+				+ "$" + ENCODER.encodeToString(salt) + "$" + ENCODER.encodeToString(hash);
+	}
+
+	/**
+	 * 校验明文密码与 PHC 格式的凭证是否匹配
+	 * @param password 明文密码
+	 * @param encoded PHC 字符串
+	 * @return true/false，格式不正确时返回 false
+	 */
+	public boolean matches(char[] password, String encoded) {
+		if (!encoded.startsWith(PREFIX)) {
+			return false;
+		}
+		// ["", "argon2id", "v=19", "m=..,t=..,p=..", salt, hash]
+		String[] parts = encoded.split("\\$");
+		if (parts.length != 6 || !parts[2].equals("v=" + Argon2Parameters.ARGON2_VERSION_13)) {
+			return false;
+		}
+		int m = -1, t = -1, p = -1;
+		for (String param : parts[3].split(",")) {
+			int index = param.indexOf('=');
+			if (index <= 0) {
+				return false;
+			}
+			int value;
+			try {
+				value = Integer.parseInt(param.substring(index + 1));
+			} catch (NumberFormatException e) {
+				return false;
+			}
+			switch (param.substring(0, index)) {
+			case "m":
+				m = value;
+				break;
+			case "t":
+				t = value;
+				break;
+			case "p":
+				p = value;
+				break;
+			default:
+				return false;
+			}
+		}
+		if (m <= 0 || t <= 0 || p <= 0) {
+			return false;
+		}
+		byte[] salt;
+		byte[] expected;
+		try {
+			salt = DECODER.decode(parts[4]);
+			expected = DECODER.decode(parts[5]);
+		} catch (IllegalArgumentException e) {
+			return false;
+		}
+		byte[] actual = hash(password, salt, m, t, p, expected.length);
+		return MessageDigest.isEqual(expected, actual);
+	}
+
+	protected byte[] hash(char[] password, byte[] salt, int m, int t, int p, int length) {
+		Argon2Parameters parameters = new Argon2Parameters.Builder(Argon2Parameters.ARGON2_id)
+				.withVersion(Argon2Parameters.ARGON2_VERSION_13)
+				.withMemoryAsKB(m)
+				.withIterations(t)
+				.withParallelism(p)
+				.withSalt(salt)
+				.build();
+		Argon2BytesGenerator generator = new Argon2BytesGenerator();
+		generator.init(parameters);
+		byte[] out = new byte[length];
+		byte[] input = toBytes(password);
+		try {
+			generator.generateBytes(input, out);
+		} finally {
+			Arrays.fill(input, (byte) 0);
+		}
+		return out;
+	}
+
+	private static byte[] toBytes(char[] chars) {
+		ByteBuffer buffer = StandardCharsets.UTF_8.encode(CharBuffer.wrap(chars));
+		byte[] bytes = Arrays.copyOfRange(buffer.array(), buffer.position(), buffer.limit());
+		Arrays.fill(buffer.array(), (byte) 0);
+		return bytes;
+	}
+
+	private static char[] toChars(Object credentials) {
+		if (credentials instanceof char[]) {
+			return (char[]) credentials;
+		}
+		if (credentials instanceof String) {
+			return ((String) credentials).toCharArray();
+		}
+		return null;
+	}
+
+	public int getMemory() {
+		return memory;
+	}
+
+	public void setMemory(int memory) {
+		this.memory = memory;
+	}
+
+	public int getIterations() {
+		return iterations;
+	}
+
+	public void setIterations(int iterations) {
+		this.iterations = iterations;
+	}
+
+	public int getParallelism() {
+		return parallelism;
+	}
+
+	public void setParallelism(int parallelism) {
+		this.parallelism = parallelism;
+	}
+
+	public int getSaltLength() {
+		return saltLength;
+	}
+
+	public void setSaltLength(int saltLength) {
+		this.saltLength = saltLength;
+	}
+
+	public int getHashLength() {
+		return hashLength;
+	}
+
+	public void setHashLength(int hashLength) {
+		this.hashLength = hashLength;
+	}
+
+	/**
+	 * 恢复之后重建随机数生成器，避免从同一镜像恢复的实例生成相同的盐值
+	 */
+	@Override
+	public void afterRestore() {
+		random = new SecureRandom();
+	}
+
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.shiro.spring.boot.jwt.authc.credential;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.shiro.authc.AuthenticationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 凭证校验服务：在独立、有界的线程池中执行密码哈希等耗时的凭证校验，
+ * 登录风暴只会占满该线程池及其队列，不会耗尽处理 JWT 授权请求的 Servlet 线程。
+ * <p>
+ * 队列已满时立即拒绝，超过等待时间时取消任务，两种情况均以 {@link AuthenticationException} 结束本次登录；
+ * 提交、完成、拒绝、超时、异常次数及累计耗时通过 {@link LongAdder} 统计。
+ * </p>
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+public class CredentialsVerificationService {
+
+	private static final Logger LOG = LoggerFactory.getLogger(CredentialsVerificationService.class);
+
+	private final ThreadPoolExecutor executor;
+	/** 等待校验结果的最长时间（毫秒） */
+	private final long timeout;
+
+	private final LongAdder submitted = new LongAdder();
+	private final LongAdder completed = new LongAdder();
+	private final LongAdder rejected = new LongAdder();
+	private final LongAdder timedOut = new LongAdder();
+	private final LongAdder failed = new LongAdder();
+	private final LongAdder elapsedNanos = new LongAdder();
+
+	public CredentialsVerificationService(int poolSize, int queueCapacity, long timeout) {
+		if (poolSize <= 0 || queueCapacity <= 0) {
+			throw new IllegalArgumentException("poolSize and queueCapacity must be positive.");
+		}
+		this.timeout = timeout;
+		this.executor = new ThreadPoolExecutor(poolSize, poolSize, 60L, TimeUnit.SECONDS,
+				new ArrayBlockingQueue<Runnable>(queueCapacity), new VerificationThreadFactory(),
+				new ThreadPoolExecutor.AbortPolicy());
+		this.executor.allowCoreThreadTimeOut(true);
+	}
+
+	/**
+	 * 在校验线程池中执行凭证校验并等待结果
+	 * @param verification 凭证校验任务
+	 * @return 校验结果
+	 * @throws AuthenticationException 队列已满、等待超时或校验过程中出现异常
+	 */
+	public boolean verify(Callable<Boolean> verification) throws AuthenticationException {
+		final long start = System.nanoTime();
+		Future<Boolean> future;
+		try {
+			future = executor.submit(verification);
+			submitted.increment();
+		} catch (RejectedExecutionException e) {
+			rejected.increment();
+			throw new AuthenticationException("Credentials verification queue is full.", e);
+		}
+		try {
+			Boolean matched = timeout > 0 ? future.get(timeout, TimeUnit.MILLISECONDS) : future.get();
+			completed.increment();
+			return Boolean.TRUE.equals(matched);
+		} catch (TimeoutException e) {
+			future.cancel(true);
+			timedOut.increment();
+			throw new AuthenticationException("Credentials verification timed out after " + timeout + " ms.", e);
+		} catch (InterruptedException e) {
+			future.cancel(true);
+			Thread.currentThread().interrupt();
+			throw new AuthenticationException("Credentials verification interrupted.", e);
+		} catch (ExecutionException e) {
+			failed.increment();
+			if (e.getCause() instanceof AuthenticationException) {
+				throw (AuthenticationException) e.getCause();
+			}
+			throw new AuthenticationException("Credentials verification failed.", e.getCause());
+		} finally {
+			elapsedNanos.add(System.nanoTime() - start);
+		}
+	}
+
+	public void shutdown() {
+		if (LOG.isDebugEnabled()) {
+			LOG.debug("Shutting down credentials verification executor, {} tasks queued.", getQueueSize());
+		}
+		executor.shutdownNow();
+	}
+
+	public int getActiveCount() {
+		return executor.getActiveCount();
+	}
+
+	public int getQueueSize() {
+		return executor.getQueue().size();
+	}
+
+	public long getSubmittedCount() {
+		return submitted.sum();
+	}
+
+	public long getCompletedCount() {
+		return completed.sum();
+	}
+
+	public long getRejectedCount() {
+		return rejected.sum();
+	}
+
+	public long getTimedOutCount() {
+		return timedOut.sum();
+	}
+
+	public long getFailedCount() {
+		return failed.sum();
+	}
+
+	/**
+	 * 平均耗时（毫秒），包含排队等待时间
+	 */
+	public double getAverageMillis() {
+		long count = submitted.sum();
+		return count == 0 ? 0 : elapsedNanos.sum() / 1000000.0 / count;
+	}
+
+	public long getTimeout() {
+		return timeout;
+	}
+
+	private static class VerificationThreadFactory implements ThreadFactory {
+
+		private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+		@Override
+		public Thread newThread(Runnable runnable) {
+			Thread thread = new Thread(runnable, "shiro-credentials-" + threadNumber.getAndIncrement());
+			thread.setDaemon(true);
+			return thread;
+		}
+
+	}
+
+}
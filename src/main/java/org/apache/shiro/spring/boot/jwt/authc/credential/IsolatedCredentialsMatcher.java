@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.shiro.spring.boot.jwt.authc.credential;
+
+import org.apache.shiro.authc.AuthenticationInfo;
+import org.apache.shiro.authc.AuthenticationToken;
+import org.apache.shiro.authc.credential.CredentialsMatcher;
+
+/**
+ * 隔离执行的凭证匹配器：将被代理匹配器的校验交由 {@link CredentialsVerificationService} 在独立线程池中执行
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+public class IsolatedCredentialsMatcher implements CredentialsMatcher {
+
+	private final CredentialsVerificationService verificationService;
+	private final CredentialsMatcher delegate;
+
+	public IsolatedCredentialsMatcher(CredentialsVerificationService verificationService, CredentialsMatcher delegate) {
+		this.verificationService = verificationService;
+		this.delegate = delegate;
+	}
+
+	@Override
+	public boolean doCredentialsMatch(final AuthenticationToken token, final AuthenticationInfo info) {
+		return verificationService.verify(() -> delegate.doCredentialsMatch(token, info));
+	}
+
+	public CredentialsMatcher getDelegate() {
+		return delegate;
+	}
+
+}
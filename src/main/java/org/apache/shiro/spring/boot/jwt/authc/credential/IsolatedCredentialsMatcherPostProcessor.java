@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.shiro.spring.boot.jwt.authc.credential;
+
+import org.apache.shiro.authc.credential.AllowAllCredentialsMatcher;
+import org.apache.shiro.authc.credential.CredentialsMatcher;
+import org.apache.shiro.realm.AuthenticatingRealm;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+/**
+ * 将 Realm 的凭证匹配器包装为 {@link IsolatedCredentialsMatcher}；
+ * JWT 及无需校验凭证的匹配器（{@link JwtCredentialsMatcher}、{@link AllowAllCredentialsMatcher}）保持不变。
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+public class IsolatedCredentialsMatcherPostProcessor implements BeanPostProcessor {
+
+	private final ObjectProvider<CredentialsVerificationService> verificationServiceProvider;
+
+	public IsolatedCredentialsMatcherPostProcessor(ObjectProvider<CredentialsVerificationService> verificationServiceProvider) {
+		this.verificationServiceProvider = verificationServiceProvider;
+	}
+
+	@Override
+	public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+		if (bean instanceof AuthenticatingRealm) {
+			AuthenticatingRealm realm = (AuthenticatingRealm) bean;
+			CredentialsMatcher matcher = realm.getCredentialsMatcher();
+			if (matcher != null && !(matcher instanceof IsolatedCredentialsMatcher)
+					&& !(matcher instanceof JwtCredentialsMatcher) && !(matcher instanceof AllowAllCredentialsMatcher)) {
+				CredentialsVerificationService verificationService = verificationServiceProvider.getIfAvailable();
+				if (verificationService != null) {
+					realm.setCredentialsMatcher(new IsolatedCredentialsMatcher(verificationService, matcher));
+				}
+			}
+		}
+		return bean;
+	}
+
+}
@@ -20,11 +20,19 @@ package org.apache.shiro.spring.boot.jwt.authc.credential;
 import org.apache.shiro.authc.AuthenticationInfo;
 import org.apache.shiro.authc.AuthenticationToken;
 import org.apache.shiro.authc.credential.CredentialsMatcher;
+import org.apache.shiro.spring.boot.jwt.JwtPayloadPrincipal;
+import org.apache.shiro.spring.boot.jwt.exception.InvalidJwtToken;
+import org.apache.shiro.spring.boot.jwt.revocation.MappedJwtRevocationStore;
+
+import com.github.hiwepy.jwt.JwtPayload;
 
 /**
  * JSON Web Token (JWT) Credentials Matcher
  */
 public class JwtCredentialsMatcher implements CredentialsMatcher {
+
+	/** 令牌吊销存储，为空时不检查吊销 */
+	private MappedJwtRevocationStore revocationStore;
 	
 	@Override
 	public boolean doCredentialsMatch(AuthenticationToken token, AuthenticationInfo info) {
@@ -58,7 +66,24 @@ public class JwtCredentialsMatcher implements CredentialsMatcher {
 				&&this.cacheDelegator.cutBurnedToken(tokenId)){
 			throw new AuthenticationException(MessageConfig.MSG_BURNED_TOKEN);
 		}*/
+		if (getRevocationStore() != null && info.getPrincipals() != null
+				&& info.getPrincipals().getPrimaryPrincipal() instanceof JwtPayloadPrincipal) {
+			JwtPayload payload = ((JwtPayloadPrincipal) info.getPrincipals().getPrimaryPrincipal()).getPayload();
+			// 签发时间取自已解析的载荷，引用令牌同样适用，无需再次解码凭证
+			if (payload != null && getRevocationStore().isRevoked(payload.getTokenId(), payload.getSubject(),
+					payload.getIssuedAt() == null ? 0L : payload.getIssuedAt().getTime())) {
+				throw new InvalidJwtToken("JWT has been revoked.");
+			}
+		}
         return true;
 	}
 
+	public MappedJwtRevocationStore getRevocationStore() {
+		return revocationStore;
+	}
+
+	public void setRevocationStore(MappedJwtRevocationStore revocationStore) {
+		this.revocationStore = revocationStore;
+	}
+
 }
\ No newline at end of file
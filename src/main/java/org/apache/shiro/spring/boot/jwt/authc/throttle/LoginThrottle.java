@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.shiro.spring.boot.jwt.authc.throttle;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletResponse;
+
+import org.apache.shiro.biz.authc.AuthcResponse;
+import org.apache.shiro.biz.utils.StringUtils;
+import org.apache.shiro.biz.utils.WebUtils;
+import org.apache.shiro.spring.boot.jwt.crac.JwtCheckpointAware;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import com.alibaba.fastjson.JSONObject;
+
+/**
+ * 登录限流：在创建 Token 及委托 Realm 校验凭证之前，按客户端 IP 与用户名分别统计滑动窗口内的登录次数，
+ * 超过阈值时直接输出预先渲染的响应，避免撞库攻击把密码哈希计算变成 CPU 拒绝服务。
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+public class LoginThrottle implements JwtCheckpointAware {
+
+	/** 超出阈值时的响应码 */
+	public static final int SC_TOO_MANY_REQUESTS = 429;
+	protected static final String DEFAULT_MESSAGE = "Too many login attempts, please try again later.";
+
+	private final SlidingWindowCounter addressCounter;
+	private final SlidingWindowCounter usernameCounter;
+	/** 单个IP在窗口内允许的最大登录次数，小于等于0表示不限制 */
+	private final long maxAttemptsPerAddress;
+	/** 单个用户名在窗口内允许的最大登录次数，小于等于0表示不限制 */
+	private final long maxAttemptsPerUsername;
+	private volatile byte[] rejectedResponse;
+	/** 限流响应的 Retry-After（秒）：一个计数窗口 */
+	private final String retryAfter;
+
+	public LoginThrottle(long windowMillis, long maxAttemptsPerAddress, long maxAttemptsPerUsername, int maximumKeys) {
+		this.addressCounter = new SlidingWindowCounter(windowMillis, maximumKeys);
+		this.usernameCounter = new SlidingWindowCounter(windowMillis, maximumKeys);
+		this.maxAttemptsPerAddress = maxAttemptsPerAddress;
+		this.maxAttemptsPerUsername = maxAttemptsPerUsername;
+		this.retryAfter = String.valueOf(Math.max(1, (addressCounter.getWindowMillis() + 999) / 1000));
+		setRejectedMessage(DEFAULT_MESSAGE);
+	}
+
+	/**
+	 * 按客户端IP计数并判断是否允许继续登录
+	 * @param request 请求
+	 * @return true/false
+	 */
+	public boolean tryAcquireAddress(ServletRequest request) {
+		if (maxAttemptsPerAddress <= 0) {
+			return true;
+		}
+		String address = WebUtils.getRemoteAddr(request);
+		if (StringUtils.isEmpty(address)) {
+			return true;
+		}
+		return addressCounter.increment(address, System.currentTimeMillis()) <= maxAttemptsPerAddress;
+	}
+
+	/**
+	 * 按用户名计数并判断是否允许继续登录
+	 * @param username 用户名
+	 * @return true/false
+	 */
+	public boolean tryAcquireUsername(String username) {
+		if (maxAttemptsPerUsername <= 0 || StringUtils.isEmpty(username)) {
+			return true;
+		}
+		return usernameCounter.increment(username, System.currentTimeMillis()) <= maxAttemptsPerUsername;
+	}
+
+	/**
+	 * 登录成功后重置用户名计数，避免正常用户被此前的失败次数拖累
+	 * @param username 用户名
+	 */
+	public void onLoginSuccess(String username) {
+		if (!StringUtils.isEmpty(username)) {
+			usernameCounter.reset(username);
+		}
+	}
+
+	/**
+	 * 输出预先渲染的限流响应
+	 */
+	public void writeRejected(ServletResponse response) throws IOException {
+		HttpServletResponse httpResponse = WebUtils.toHttp(response);
+		httpResponse.setStatus(SC_TOO_MANY_REQUESTS);
+		httpResponse.setHeader(HttpHeaders.RETRY_AFTER, retryAfter);
+		response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+		response.setCharacterEncoding(StandardCharsets.UTF_8.toString());
+		byte[] body = rejectedResponse;
+		response.setContentLength(body.length);
+		response.getOutputStream().write(body);
+	}
+
+	public void setRejectedMessage(String message) {
+		this.rejectedResponse = JSONObject.toJSONString(AuthcResponse.fail(SC_TOO_MANY_REQUESTS, message))
+				.getBytes(StandardCharsets.UTF_8);
+	}
+
+	public SlidingWindowCounter getAddressCounter() {
+		return addressCounter;
+	}
+
+	public SlidingWindowCounter getUsernameCounter() {
+		return usernameCounter;
+	}
+
+	/**
+	 * 检查点之前清空计数，计数窗口基于时间，恢复后已无意义
+	 */
+	@Override
+	public void beforeCheckpoint() {
+		addressCounter.clear();
+		usernameCounter.clear();
+	}
+
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.shiro.spring.boot.jwt.authc.throttle;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * 滑动窗口计数器：按 Key 统计最近一个时间窗口内的次数。
+ * <p>
+ * 窗口被划分为若干个时间槽，每个 Key 对应一组 {@link AtomicLongArray}，计数只做 CAS/自增，不加锁；
+ * Key 存放于有界的 Guava {@link Cache}（分段并发），空闲超过一个窗口的 Key 自动过期，
+ * Key 数量达到上限时按段淘汰最久未使用的 Key，每次写入的淘汰开销为常数，保证内存有界；
+ * 不能因为 Key（如攻击者可控的用户名）占满而停止计数，也不能因为大量新 Key 而在每次计数时扫描全部 Key，
+ * 否则限流本身会成为攻击目标。
+ * </p>
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+public class SlidingWindowCounter {
+
+	/** 默认时间槽数量 */
+	public static final int DEFAULT_SLOTS = 10;
+	private final Cache<String, Window> windows;
+	private final long windowMillis;
+	private final long slotMillis;
+	private final int slots;
+	private final int maximumKeys;
+
+	public SlidingWindowCounter(long windowMillis, int maximumKeys) {
+		this(windowMillis, DEFAULT_SLOTS, maximumKeys);
+	}
+
+	public SlidingWindowCounter(long windowMillis, int slots, int maximumKeys) {
+		if (windowMillis <= 0 || slots <= 0 || maximumKeys <= 0) {
+			throw new IllegalArgumentException("windowMillis, slots and maximumKeys must be positive.");
+		}
+		this.slots = slots;
+		this.slotMillis = Math.max(1, windowMillis / slots);
+		this.windowMillis = this.slotMillis * slots;
+		this.maximumKeys = maximumKeys;
+		this.windows = CacheBuilder.newBuilder().maximumSize(maximumKeys)
+				.expireAfterAccess(this.windowMillis, TimeUnit.MILLISECONDS).build();
+	}
+
+	/**
+	 * 计数加一并返回窗口内的总次数
+	 * @param key 计数 Key
+	 * @param now 当前时间（毫秒）
+	 * @return 窗口内的总次数
+	 */
+	public long increment(String key, long now) {
+		Window window = windows.getIfPresent(key);
+		if (window == null) {
+			Window created = new Window(slots);
+			window = windows.asMap().putIfAbsent(key, created);
+			if (window == null) {
+				window = created;
+			}
+		}
+		return window.increment(now / slotMillis);
+	}
+
+	/**
+	 * 获取窗口内的总次数（不计数）
+	 * @param key 计数 Key
+	 * @param now 当前时间（毫秒）
+	 * @return 窗口内的总次数
+	 */
+	public long get(String key, long now) {
+		Window window = windows.getIfPresent(key);
+		return window == null ? 0 : window.sum(now / slotMillis);
+	}
+
+	public void reset(String key) {
+		windows.invalidate(key);
+	}
+
+	/**
+	 * 清空所有计数
+	 */
+	public void clear() {
+		windows.invalidateAll();
+	}
+
+	public int size() {
+		return (int) windows.size();
+	}
+
+	public long getWindowMillis() {
+		return windowMillis;
+	}
+
+	public int getMaximumKeys() {
+		return maximumKeys;
+	}
+
+	/**
+	 * 清理空闲超过一个窗口的 Key；过期的 Key 在读写时已被增量清理，此方法只用于需要立即释放内存的场景
+	 */
+	public void purge(long now) {
+		long epoch = now / slotMillis;
+		for (Iterator<Map.Entry<String, Window>> it = windows.asMap().entrySet().iterator(); it.hasNext();) {
+			if (epoch - it.next().getValue().lastEpoch >= slots) {
+				it.remove();
+			}
+		}
+		windows.cleanUp();
+	}
+
+	private static final class Window {
+
+		/** 时间槽所属的纪元（时间 / 槽宽） */
+		private final AtomicLongArray epochs;
+		private final AtomicLongArray counts;
+		private volatile long lastEpoch;
+
+		private Window(int slots) {
+			this.epochs = new AtomicLongArray(slots);
+			this.counts = new AtomicLongArray(slots);
+		}
+
+		private long increment(long epoch) {
+			int slot = (int) (epoch % epochs.length());
+			long slotEpoch = epochs.get(slot);
+			// 时间槽已过期：由抢到 CAS 的线程清零，并发下可能少计若干次，对限流可接受
+			if (slotEpoch != epoch && epochs.compareAndSet(slot, slotEpoch, epoch)) {
+				counts.set(slot, 0);
+			}
+			counts.incrementAndGet(slot);
+			lastEpoch = epoch;
+			return sum(epoch);
+		}
+
+		private long sum(long epoch) {
+			long total = 0;
+			for (int i = 0; i < epochs.length(); i++) {
+				if (epoch - epochs.get(i) < epochs.length()) {
+					total += counts.get(i);
+				}
+			}
+			return total;
+		}
+
+	}
+
+}
@@ -27,15 +27,12 @@ import org.apache.shiro.authc.AuthenticationException;
 import org.apache.shiro.biz.authc.AuthcResponse;
 import org.apache.shiro.biz.authc.AuthcResponseCode;
 import org.apache.shiro.biz.authz.AuthorizationFailureHandler;
-import org.apache.shiro.biz.utils.SubjectUtils;
 import org.apache.shiro.biz.utils.WebUtils;
 import org.apache.shiro.biz.web.servlet.http.HttpStatus;
 import org.apache.shiro.spring.boot.jwt.ShiroJwtMessageSource;
 import org.apache.shiro.spring.boot.jwt.authc.JwtAuthenticationFailureHandler;
-import org.apache.shiro.spring.boot.jwt.exception.ExpiredJwtException;
-import org.apache.shiro.spring.boot.jwt.exception.IncorrectJwtException;
-import org.apache.shiro.spring.boot.jwt.exception.InvalidJwtToken;
-import org.apache.shiro.spring.boot.jwt.exception.NotObtainedJwtException;
+import org.apache.shiro.spring.boot.jwt.exception.JwtAuthenticationException;
+import org.apache.shiro.spring.boot.jwt.exception.JwtFailureReason;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.support.MessageSourceAccessor;
@@ -54,8 +51,7 @@ public class JwtAuthorizationFailureHandler implements AuthorizationFailureHandl
 
 	@Override
 	public boolean supports(AuthenticationException ex) {
-		return SubjectUtils.isAssignableFrom(ex.getClass(), ExpiredJwtException.class,
-				IncorrectJwtException.class, InvalidJwtToken.class, NotObtainedJwtException.class);
+		return ex instanceof JwtAuthenticationException;
 	}
 
 	@Override
@@ -72,28 +68,20 @@ public class JwtAuthorizationFailureHandler implements AuthorizationFailureHandl
 			response.setContentType(MediaType.APPLICATION_JSON_VALUE);
 			response.setCharacterEncoding(StandardCharsets.UTF_8.name());
 
-			// Jwt过期
-			if (ex instanceof ExpiredJwtException) {
-				JSONObject.writeJSONString(response.getOutputStream(), AuthcResponse.error(AuthcResponseCode.SC_AUTHZ_TOKEN_EXPIRED.getCode(),
-						messages.getMessage(AuthcResponseCode.SC_AUTHZ_TOKEN_EXPIRED.getMsgKey(), ex.getMessage())));
-			}
-			// Jwt错误
-			else if (ex instanceof IncorrectJwtException) {
-				JSONObject.writeJSONString(response.getOutputStream(), AuthcResponse.error(AuthcResponseCode.SC_AUTHZ_TOKEN_INCORRECT.getCode(),
-						messages.getMessage(AuthcResponseCode.SC_AUTHZ_TOKEN_INCORRECT.getMsgKey(), ex.getMessage())));
-			}
-			// Jwt无效
-			else if (ex instanceof InvalidJwtToken) {
-				JSONObject.writeJSONString(response.getOutputStream(), AuthcResponse.error(AuthcResponseCode.SC_AUTHZ_TOKEN_INVALID.getCode(),
-						messages.getMessage(AuthcResponseCode.SC_AUTHZ_TOKEN_INVALID.getMsgKey(), ex.getMessage())));
-			}
-			// Jwt缺失
-			else if (ex instanceof NotObtainedJwtException) {
-				JSONObject.writeJSONString(response.getOutputStream(), AuthcResponse.error(AuthcResponseCode.SC_AUTHZ_TOKEN_REQUIRED.getCode(),
-						messages.getMessage(AuthcResponseCode.SC_AUTHZ_TOKEN_REQUIRED.getMsgKey(), ex.getMessage())));
-			} else {
+			JwtFailureReason reason = JwtFailureReason.of(ex);
+			switch (reason) {
+			// Jwt过期、错误、无效、缺失
+			case EXPIRED:
+			case INCORRECT:
+			case INVALID:
+			case REQUIRED:
+				JSONObject.writeJSONString(response.getOutputStream(), AuthcResponse.error(reason.getResponseCode().getCode(),
+						messages.getMessage(reason.getResponseCode().getMsgKey(), ex.getMessage())));
+				break;
+			default:
 				JSONObject.writeJSONString(response.getOutputStream(), AuthcResponse.error(AuthcResponseCode.SC_AUTHC_FAIL.getCode(),
 						messages.getMessage(AuthcResponseCode.SC_AUTHC_FAIL.getMsgKey())));
+				break;
 			}
 		} catch (Exception e) {
 			LOG.error(e.getMessage());
@@ -17,8 +17,14 @@ import org.apache.shiro.biz.web.filter.authz.AbstracAuthorizationFilter;
 import org.apache.shiro.biz.web.servlet.http.HttpStatus;
 import org.apache.shiro.spring.boot.jwt.JwtPayloadRepository;
 import org.apache.shiro.spring.boot.jwt.ShiroJwtMessageSource;
+import org.apache.shiro.spring.boot.jwt.audit.JwtAuditPublisher;
 import org.apache.shiro.spring.boot.jwt.exception.InvalidJwtToken;
+import org.apache.shiro.spring.boot.jwt.exception.JwtFailureReason;
 import org.apache.shiro.spring.boot.jwt.token.JwtAuthorizationToken;
+import org.apache.shiro.spring.boot.jwt.token.JwtReferenceTokenStore;
+import org.apache.shiro.spring.boot.jwt.trace.JwtSpan;
+import org.apache.shiro.spring.boot.jwt.trace.JwtTraceStage;
+import org.apache.shiro.spring.boot.jwt.trace.JwtTracing;
 import org.apache.shiro.subject.Subject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -50,6 +56,10 @@ public class JwtAuthorizationFilter extends AbstracAuthorizationFilter {
 	private JwtPayloadRepository jwtPayloadRepository;
 	/** If Check JWT Validity. */
 	private boolean checkExpiry = false;
+	/** Reference Token Store, Reference Token Was Verified When Issued. */
+	private JwtReferenceTokenStore referenceTokenStore;
+	/** Audit Publisher, Authentication Results Are Enqueued And Written Asynchronously. */
+	private JwtAuditPublisher auditPublisher;
 
 	@Override
 	protected boolean isAccessAllowed(ServletRequest request, ServletResponse response, Object mappedValue)
@@ -62,18 +72,38 @@ public class JwtAuthorizationFilter extends AbstracAuthorizationFilter {
 				//Step 2、委托给Realm进行登录
 				Subject subject = getSubject(request, response);
 				subject.login(token);
-				if(checkExpiry) {
+				if(checkExpiry && !isReferenceToken(token)) {
 					// Step 3、委托给JwtPayloadRepository进行Token验证
-					boolean accessAllowed = getJwtPayloadRepository().verify(token, subject, isCheckExpiry());
+					JwtSpan verifySpan = JwtTracing.start(JwtTraceStage.SIGNATURE_VERIFY);
+					boolean accessAllowed;
+					try {
+						accessAllowed = getJwtPayloadRepository().verify(token, subject, isCheckExpiry());
+						if (!accessAllowed) {
+							verifySpan.recordFailure(JwtFailureReason.INVALID);
+						}
+					} finally {
+						verifySpan.end();
+					}
 					if (!accessAllowed) {
 						throw new InvalidJwtToken("Invalid JWT value.");
 					}
 				}
 				//Step 3、执行授权成功后的函数
+				if (getAuditPublisher() != null) {
+					getAuditPublisher().publishSuccess(subject, WebUtils.getRemoteAddr(request));
+				}
 				return onAccessSuccess(mappedValue, subject, request, response);
 			} catch (AuthenticationException e) {
 				//Step 4、执行授权失败后的函数
-				return onAccessFailure(mappedValue, e, request, response);
+				if (getAuditPublisher() != null) {
+					getAuditPublisher().publishFailure(WebUtils.getRemoteAddr(request), e);
+				}
+				JwtSpan failureSpan = JwtTracing.start(JwtTraceStage.FAILURE_RESPONSE).recordFailure(JwtFailureReason.of(e));
+				try {
+					return onAccessFailure(mappedValue, e, request, response);
+				} finally {
+					failureSpan.end();
+				}
 			}
 		}
 
@@ -96,9 +126,20 @@ public class JwtAuthorizationFilter extends AbstracAuthorizationFilter {
 	}
 
 	protected AuthenticationToken createJwtToken(ServletRequest request, ServletResponse response) {
-		String host = WebUtils.getRemoteAddr(request);
-		String jwtToken = getAccessToken(request);
-		return new JwtAuthorizationToken(host, jwtToken, false);
+		JwtSpan span = JwtTracing.start(JwtTraceStage.TOKEN_RESOLUTION);
+		try {
+			String host = WebUtils.getRemoteAddr(request);
+			String jwtToken = getAccessToken(request);
+			span.setAttribute(JwtSpan.TOKEN_SIZE, jwtToken == null ? 0 : jwtToken.length());
+			return new JwtAuthorizationToken(host, jwtToken, false);
+		} finally {
+			span.end();
+		}
+	}
+
+    protected boolean isReferenceToken(AuthenticationToken token) {
+		return getReferenceTokenStore() != null && token instanceof JwtAuthorizationToken
+				&& getReferenceTokenStore().isReference(((JwtAuthorizationToken) token).getToken());
 	}
 
     protected boolean isJwtSubmission(ServletRequest request, ServletResponse response) {
@@ -171,4 +212,20 @@ public class JwtAuthorizationFilter extends AbstracAuthorizationFilter {
 		this.checkExpiry = checkExpiry;
 	}
 
+	public JwtReferenceTokenStore getReferenceTokenStore() {
+		return referenceTokenStore;
+	}
+
+	public void setReferenceTokenStore(JwtReferenceTokenStore referenceTokenStore) {
+		this.referenceTokenStore = referenceTokenStore;
+	}
+
+	public JwtAuditPublisher getAuditPublisher() {
+		return auditPublisher;
+	}
+
+	public void setAuditPublisher(JwtAuditPublisher auditPublisher) {
+		this.auditPublisher = auditPublisher;
+	}
+
 }
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.shiro.spring.boot.jwt.authz;
+
+import org.apache.shiro.authz.SimpleAuthorizationInfo;
+import org.apache.shiro.spring.boot.jwt.authz.permission.WildcardPermissionTrie;
+
+import com.google.common.hash.HashCode;
+
+/**
+ * JSON Web Token (JWT) 授权信息：由 JWT 主张构建，构建后不再修改，
+ * 可随主体缓存并附带编译后的权限前缀树及授权决策指纹，避免每次权限判断重复查找或计算。
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+@SuppressWarnings("serial")
+public class JwtAuthorizationInfo extends SimpleAuthorizationInfo {
+
+	/** 构建该授权信息的 Realm 名称 */
+	private final String realmName;
+	/** 权限集合对应的前缀树 */
+	private transient volatile WildcardPermissionTrie permissionTrie;
+	/** 授权决策缓存使用的主张指纹 */
+	private transient volatile Fingerprint fingerprint;
+
+	public JwtAuthorizationInfo(String realmName) {
+		this.realmName = realmName;
+	}
+
+	public String getRealmName() {
+		return realmName;
+	}
+
+	public WildcardPermissionTrie getPermissionTrie() {
+		return permissionTrie;
+	}
+
+	public void setPermissionTrie(WildcardPermissionTrie permissionTrie) {
+		this.permissionTrie = permissionTrie;
+	}
+
+	/**
+	 * 获取按指定主张结构版本计算的指纹
+	 * @param schemaVersion 主张结构版本号
+	 * @return 版本不一致或尚未计算时返回 null
+	 */
+	public HashCode getFingerprint(String schemaVersion) {
+		Fingerprint current = this.fingerprint;
+		return current != null && current.schemaVersion.equals(schemaVersion) ? current.value : null;
+	}
+
+	public void setFingerprint(String schemaVersion, HashCode fingerprint) {
+		this.fingerprint = new Fingerprint(schemaVersion, fingerprint);
+	}
+
+	private static final class Fingerprint {
+
+		private final String schemaVersion;
+		private final HashCode value;
+
+		private Fingerprint(String schemaVersion, HashCode value) {
+			this.schemaVersion = schemaVersion;
+			this.value = value;
+		}
+
+	}
+
+}
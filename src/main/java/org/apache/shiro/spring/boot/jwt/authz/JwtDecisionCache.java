@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.shiro.spring.boot.jwt.authz;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import org.apache.shiro.authz.AuthorizationInfo;
+import org.apache.shiro.spring.boot.jwt.crac.JwtCheckpointAware;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+
+/**
+ * 跨请求的授权决策缓存：以（角色/权限主张集合指纹，权限字符串）为 Key 缓存 isPermitted 的判断结果，
+ * 拥有相同角色、权限组合的所有用户共享同一份结果。
+ * <p>
+ * 指纹为各主张 murmur3_128 哈希的无序组合并混入主张结构版本号，修改 {@link #setSchemaVersion(String)}
+ * 或签名密钥轮换后调用 {@link #invalidateAll()} 即可使旧的结果失效；命中率可通过 {@link #stats()} 获取。
+ * 指纹的计算与主张数量相关，{@link JwtAuthorizationInfo} 的指纹只在首次判断时计算并随授权信息缓存。
+ * </p>
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+public class JwtDecisionCache implements JwtCheckpointAware {
+
+	/** 默认最多缓存的决策数量 */
+	public static final long DEFAULT_MAXIMUM_SIZE = 10000;
+
+	private static final HashFunction HASH_FUNCTION = Hashing.murmur3_128();
+
+	private final Cache<DecisionKey, Boolean> decisions;
+	private volatile String schemaVersion = "";
+
+	public JwtDecisionCache() {
+		this(DEFAULT_MAXIMUM_SIZE);
+	}
+
+	public JwtDecisionCache(long maximumSize) {
+		this.decisions = CacheBuilder.newBuilder().maximumSize(maximumSize).recordStats().build();
+	}
+
+	/**
+	 * 获取缓存的判断结果，不存在时计算并缓存
+	 * @param info 授权信息，不能包含对象权限（无法计算指纹）
+	 * @param permission 权限字符串
+	 * @param evaluation 判断逻辑
+	 * @return true/false
+	 */
+	public boolean isPermitted(AuthorizationInfo info, String permission, BooleanSupplier evaluation) {
+		DecisionKey key = new DecisionKey(getFingerprint(info), permission);
+		Boolean permitted = decisions.getIfPresent(key);
+		if (permitted == null) {
+			permitted = evaluation.getAsBoolean();
+			decisions.put(key, permitted);
+		}
+		return permitted;
+	}
+
+	/*
+	 * 获取授权信息的指纹，JwtAuthorizationInfo 复用已计算的指纹
+	 */
+	protected HashCode getFingerprint(AuthorizationInfo info) {
+		String version = this.schemaVersion;
+		if (!(info instanceof JwtAuthorizationInfo)) {
+			return fingerprint(info, version);
+		}
+		JwtAuthorizationInfo jwtInfo = (JwtAuthorizationInfo) info;
+		HashCode fingerprint = jwtInfo.getFingerprint(version);
+		if (fingerprint == null) {
+			fingerprint = fingerprint(info, version);
+			jwtInfo.setFingerprint(version, fingerprint);
+		}
+		return fingerprint;
+	}
+
+	/**
+	 * 计算角色及权限主张集合的指纹，与集合顺序无关
+	 */
+	public HashCode fingerprint(AuthorizationInfo info) {
+		return fingerprint(info, schemaVersion);
+	}
+
+	private static HashCode fingerprint(AuthorizationInfo info, String schemaVersion) {
+		List<HashCode> hashes = new ArrayList<HashCode>();
+		hashes.add(HASH_FUNCTION.hashString("v:" + schemaVersion, StandardCharsets.UTF_8));
+		addHashes(hashes, "r:", info.getRoles());
+		addHashes(hashes, "p:", info.getStringPermissions());
+		return Hashing.combineUnordered(hashes);
+	}
+
+	private static void addHashes(List<HashCode> hashes, String prefix, Collection<String> claims) {
+		if (claims == null) {
+			return;
+		}
+		for (String claim : claims) {
+			hashes.add(HASH_FUNCTION.newHasher().putString(prefix, StandardCharsets.UTF_8)
+					.putString(claim == null ? "" : claim, StandardCharsets.UTF_8).hash());
+		}
+	}
+
+	public CacheStats stats() {
+		return decisions.stats();
+	}
+
+	public double hitRate() {
+		return decisions.stats().hitRate();
+	}
+
+	public long size() {
+		return decisions.size();
+	}
+
+	public void invalidateAll() {
+		decisions.invalidateAll();
+	}
+
+	public String getSchemaVersion() {
+		return schemaVersion;
+	}
+
+	/**
+	 * 设置主张结构版本号，版本变化时清空已缓存的决策
+	 */
+	public void setSchemaVersion(String schemaVersion) {
+		String version = schemaVersion == null ? "" : schemaVersion;
+		if (!version.equals(this.schemaVersion)) {
+			this.schemaVersion = version;
+			invalidateAll();
+		}
+	}
+
+	private static final class DecisionKey {
+
+		private final HashCode fingerprint;
+		private final String permission;
+		private final int hash;
+
+		private DecisionKey(HashCode fingerprint, String permission) {
+			this.fingerprint = fingerprint;
+			this.permission = permission;
+			this.hash = 31 * fingerprint.hashCode() + (permission == null ? 0 : permission.hashCode());
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof DecisionKey)) {
+				return false;
+			}
+			DecisionKey other = (DecisionKey) obj;
+			return fingerprint.equals(other.fingerprint)
+					&& (permission == null ? other.permission == null : permission.equals(other.permission));
+		}
+
+	}
+
+	/**
+	 * 检查点之前清空决策，恢复后按当前的角色及权限定义重新计算
+	 */
+	@Override
+	public void beforeCheckpoint() {
+		invalidateAll();
+	}
+
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.shiro.spring.boot.jwt.authz;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.shiro.authz.AuthorizationInfo;
+import org.apache.shiro.subject.PrincipalCollection;
+import org.apache.shiro.subject.Subject;
+import org.apache.shiro.util.ThreadContext;
+
+/**
+ * 请求级授权决策备忘：在当前线程绑定的 Subject 生命周期内缓存 {@link AuthorizationInfo} 及角色、权限的判断结果，
+ * 同一请求中多次调用 isPermitted/hasRole 只需构建一次授权信息。
+ * <p>
+ * 备忘存放在 {@link ThreadContext} 中，Shiro 过滤器执行完过滤器链后恢复线程上下文时会一并清除；
+ * 仅当传入的主体与线程绑定的 Subject 为同一实例时生效，未绑定 Subject（如异步线程）时不做缓存。
+ * 备忘只在单个请求线程内访问，无需同步。
+ * </p>
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+public final class JwtRequestDecisionMemo {
+
+	private static final String MEMO_KEY_PREFIX = JwtRequestDecisionMemo.class.getName() + "_";
+
+	private final PrincipalCollection principals;
+	private AuthorizationInfo authorizationInfo;
+	private final Map<String, Boolean> permissions = new HashMap<String, Boolean>(8);
+	private final Map<String, Boolean> roles = new HashMap<String, Boolean>(4);
+
+	private JwtRequestDecisionMemo(PrincipalCollection principals) {
+		this.principals = principals;
+	}
+
+	/**
+	 * 获取当前请求中指定 Realm 与主体对应的备忘，不存在时创建
+	 * @param realmName Realm 名称，不同 Realm 的授权信息分开缓存
+	 * @param principals 主体
+	 * @return 备忘；主体不是线程绑定的 Subject 时返回 null
+	 */
+	public static JwtRequestDecisionMemo current(String realmName, PrincipalCollection principals) {
+		if (principals == null) {
+			return null;
+		}
+		Subject subject = ThreadContext.getSubject();
+		if (subject == null) {
+			return null;
+		}
+		String key = MEMO_KEY_PREFIX + realmName;
+		Object bound = ThreadContext.get(key);
+		if (bound instanceof JwtRequestDecisionMemo && ((JwtRequestDecisionMemo) bound).principals == principals) {
+			return (JwtRequestDecisionMemo) bound;
+		}
+		if (subject.getPrincipals() != principals) {
+			return null;
+		}
+		JwtRequestDecisionMemo memo = new JwtRequestDecisionMemo(principals);
+		ThreadContext.put(key, memo);
+		return memo;
+	}
+
+	public AuthorizationInfo getAuthorizationInfo() {
+		return authorizationInfo;
+	}
+
+	public void setAuthorizationInfo(AuthorizationInfo authorizationInfo) {
+		this.authorizationInfo = authorizationInfo;
+	}
+
+	public Boolean getPermitted(String permission) {
+		return permissions.get(permission);
+	}
+
+	public void putPermitted(String permission, boolean permitted) {
+		permissions.put(permission, permitted);
+	}
+
+	public Boolean getHasRole(String role) {
+		return roles.get(role);
+	}
+
+	public void putHasRole(String role, boolean hasRole) {
+		roles.put(role, hasRole);
+	}
+
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.shiro.spring.boot.jwt.authz;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.util.CollectionUtils;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * 角色继承关系：启动时计算每个角色的传递闭包（如 admin ⊃ editor ⊃ viewer）及其隐含的权限，结果为不可变集合；
+ * 展开 JWT 中的角色主张时每个角色只需一次查找，常见的角色组合的展开结果会被缓存。
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+public class JwtRoleHierarchy {
+
+	/** 默认最多缓存的角色组合数量 */
+	public static final long DEFAULT_MAXIMUM_SIZE = 1024;
+
+	/** 角色 → 该角色及其继承的全部角色 */
+	private final Map<String, ImmutableSet<String>> closures;
+	/** 角色 → 该角色及其继承角色隐含的全部权限 */
+	private final Map<String, ImmutableSet<String>> permissions;
+	private final Cache<Set<String>, Expansion> expansions;
+
+	/**
+	 * @param inherits 角色 → 直接继承的角色（如 admin → [editor]）
+	 * @param rolePermissions 角色 → 该角色直接拥有的权限
+	 */
+	public JwtRoleHierarchy(Map<String, ? extends Collection<String>> inherits,
+			Map<String, ? extends Collection<String>> rolePermissions) {
+		this(inherits, rolePermissions, DEFAULT_MAXIMUM_SIZE);
+	}
+
+	public JwtRoleHierarchy(Map<String, ? extends Collection<String>> inherits,
+			Map<String, ? extends Collection<String>> rolePermissions, long maximumSize) {
+		Map<String, ? extends Collection<String>> graph = inherits == null ? Collections.<String, Collection<String>>emptyMap() : inherits;
+		Map<String, ? extends Collection<String>> perms = rolePermissions == null ? Collections.<String, Collection<String>>emptyMap() : rolePermissions;
+		Set<String> roles = new HashSet<String>(graph.keySet());
+		roles.addAll(perms.keySet());
+		ImmutableMap.Builder<String, ImmutableSet<String>> closureBuilder = ImmutableMap.builder();
+		ImmutableMap.Builder<String, ImmutableSet<String>> permissionBuilder = ImmutableMap.builder();
+		for (String role : roles) {
+			Set<String> closure = new HashSet<String>();
+			collect(graph, role, closure);
+			ImmutableSet.Builder<String> implied = ImmutableSet.builder();
+			for (String inherited : closure) {
+				Collection<String> direct = perms.get(inherited);
+				if (direct != null) {
+					implied.addAll(direct);
+				}
+			}
+			closureBuilder.put(role, ImmutableSet.copyOf(closure));
+			permissionBuilder.put(role, implied.build());
+		}
+		this.closures = closureBuilder.build();
+		this.permissions = permissionBuilder.build();
+		this.expansions = CacheBuilder.newBuilder().maximumSize(maximumSize).build();
+	}
+
+	/*
+	 * 深度优先收集传递闭包，已访问的角色不再展开，可容忍循环继承
+	 */
+	private static void collect(Map<String, ? extends Collection<String>> graph, String role, Set<String> closure) {
+		if (!closure.add(role)) {
+			return;
+		}
+		Collection<String> children = graph.get(role);
+		if (children != null) {
+			for (String child : children) {
+				collect(graph, child, closure);
+			}
+		}
+	}
+
+	/**
+	 * 展开角色集合
+	 * @param roles JWT 中的角色
+	 * @return 展开后的角色及隐含权限
+	 */
+	public Expansion expand(Set<String> roles) {
+		if (CollectionUtils.isEmpty(roles)) {
+			return Expansion.EMPTY;
+		}
+		Expansion expansion = expansions.getIfPresent(roles);
+		if (expansion == null) {
+			ImmutableSet<String> key = ImmutableSet.copyOf(roles);
+			ImmutableSet.Builder<String> expandedRoles = ImmutableSet.builder();
+			ImmutableSet.Builder<String> impliedPermissions = ImmutableSet.builder();
+			for (String role : key) {
+				ImmutableSet<String> closure = closures.get(role);
+				if (closure == null) {
+					expandedRoles.add(role);
+					continue;
+				}
+				expandedRoles.addAll(closure);
+				impliedPermissions.addAll(permissions.get(role));
+			}
+			expansion = new Expansion(expandedRoles.build(), impliedPermissions.build());
+			expansions.put(key, expansion);
+		}
+		return expansion;
+	}
+
+	/**
+	 * 获取角色的传递闭包（包含角色本身）
+	 */
+	public Set<String> getClosure(String role) {
+		ImmutableSet<String> closure = closures.get(role);
+		return closure == null ? ImmutableSet.of(role) : closure;
+	}
+
+	/**
+	 * 获取角色隐含的全部权限
+	 */
+	public Set<String> getPermissions(String role) {
+		ImmutableSet<String> implied = permissions.get(role);
+		return implied == null ? ImmutableSet.<String>of() : implied;
+	}
+
+	public void invalidateAll() {
+		expansions.invalidateAll();
+	}
+
+	/**
+	 * 角色展开结果
+	 */
+	public static final class Expansion {
+
+		private static final Expansion EMPTY = new Expansion(ImmutableSet.<String>of(), ImmutableSet.<String>of());
+
+		private final Set<String> roles;
+		private final Set<String> permissions;
+
+		private Expansion(Set<String> roles, Set<String> permissions) {
+			this.roles = roles;
+			this.permissions = permissions;
+		}
+
+		public Set<String> getRoles() {
+			return roles;
+		}
+
+		public Set<String> getPermissions() {
+			return permissions;
+		}
+
+	}
+
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.shiro.spring.boot.jwt.authz.permission;
+
+import java.util.Collections;
+import java.util.Set;
+
+import org.springframework.util.CollectionUtils;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * JSON Web Token (JWT) 权限索引：按权限集合缓存编译后的 {@link WildcardPermissionTrie}，
+ * 拥有相同 perms 主张的主体共享同一棵前缀树。
+ * <p>
+ * 查找前缀树需要对整个权限集合计算哈希并比较，调用方应将返回的前缀树与主体的授权信息一起缓存，
+ * 而不是在每次权限判断时查找。
+ * </p>
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+public class JwtPermissionIndex {
+
+	/** 默认最多缓存的权限集合数量 */
+	public static final long DEFAULT_MAXIMUM_SIZE = 1024;
+
+	private static final WildcardPermissionTrie EMPTY = new WildcardPermissionTrie(Collections.<String>emptySet(), false);
+	private static final WildcardPermissionTrie EMPTY_CASE_SENSITIVE = new WildcardPermissionTrie(Collections.<String>emptySet(), true);
+
+	private final Cache<TrieKey, WildcardPermissionTrie> tries;
+
+	public JwtPermissionIndex() {
+		this(DEFAULT_MAXIMUM_SIZE);
+	}
+
+	public JwtPermissionIndex(long maximumSize) {
+		this.tries = CacheBuilder.newBuilder().maximumSize(maximumSize).build();
+	}
+
+	/**
+	 * 获取权限集合对应的大小写不敏感的前缀树，不存在时编译并缓存
+	 * @param permissions 权限字符串集合
+	 * @return 编译后的前缀树
+	 */
+	public WildcardPermissionTrie getTrie(Set<String> permissions) {
+		return getTrie(permissions, false);
+	}
+
+	/**
+	 * 获取权限集合对应的前缀树，不存在时编译并缓存
+	 * @param permissions 权限字符串集合
+	 * @param caseSensitive 是否大小写敏感，应与 Realm 的 WildcardPermissionResolver 一致
+	 * @return 编译后的前缀树
+	 */
+	public WildcardPermissionTrie getTrie(Set<String> permissions, boolean caseSensitive) {
+		if (CollectionUtils.isEmpty(permissions)) {
+			return caseSensitive ? EMPTY_CASE_SENSITIVE : EMPTY;
+		}
+		WildcardPermissionTrie trie = tries.getIfPresent(new TrieKey(permissions, caseSensitive));
+		if (trie == null) {
+			// 使用不可变副本作为Key，避免调用方修改集合后破坏缓存
+			Set<String> copy = ImmutableSet.copyOf(permissions);
+			trie = new WildcardPermissionTrie(copy, caseSensitive);
+			tries.put(new TrieKey(copy, caseSensitive), trie);
+		}
+		return trie;
+	}
+
+	/**
+	 * 判断权限集合是否隐含指定权限
+	 * @param permissions 权限字符串集合
+	 * @param permission 请求的权限字符串
+	 * @return true/false；无法通过前缀树判断时返回 null
+	 */
+	public Boolean implies(Set<String> permissions, String permission) {
+		return getTrie(permissions).implies(permission);
+	}
+
+	public long size() {
+		return tries.size();
+	}
+
+	public void invalidateAll() {
+		tries.invalidateAll();
+	}
+
+	private static final class TrieKey {
+
+		private final Set<String> permissions;
+		private final boolean caseSensitive;
+
+		private TrieKey(Set<String> permissions, boolean caseSensitive) {
+			this.permissions = permissions;
+			this.caseSensitive = caseSensitive;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * permissions.hashCode() + (caseSensitive ? 1 : 0);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof TrieKey)) {
+				return false;
+			}
+			TrieKey other = (TrieKey) obj;
+			return caseSensitive == other.caseSensitive && permissions.equals(other.permissions);
+		}
+
+	}
+
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.shiro.spring.boot.jwt.authz.permission;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.shiro.util.StringUtils;
+
+/**
+ * 权限前缀树：将 {@link org.apache.shiro.authz.permission.WildcardPermission} 格式的权限字符串
+ * 按 domain:action:instance 逐段编译为前缀树，通配符 <code>*</code> 作为独立的边；
+ * 单个子段的权限判断只需沿树向下匹配，开销与权限深度相关，而不是权限数量 × 段数。
+ * <p>
+ * 语义与 WildcardPermission#implies 一致（默认大小写不敏感）；
+ * 请求权限的某一段包含多个子段（如 <code>user:read,write</code>）时无法用单条路径表达，
+ * {@link #implies(String)} 返回 <code>null</code>，由调用方回退到线性匹配。
+ * </p>
+ * 编译完成后实例不可变，可被拥有相同权限集合的多个主体共享。
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+public final class WildcardPermissionTrie {
+
+	private static final String WILDCARD_TOKEN = "*";
+	private static final String PART_DIVIDER_TOKEN = ":";
+	private static final String SUBPART_DIVIDER_TOKEN = ",";
+
+	private final Node root = new Node();
+	private final boolean caseSensitive;
+	/** 是否存在无法编译的权限（如空段），存在时由调用方回退到线性匹配 */
+	private boolean complete = true;
+
+	public WildcardPermissionTrie(Collection<String> permissions) {
+		this(permissions, false);
+	}
+
+	public WildcardPermissionTrie(Collection<String> permissions, boolean caseSensitive) {
+		this.caseSensitive = caseSensitive;
+		if (permissions != null) {
+			for (String permission : permissions) {
+				String[][] parts = split(permission);
+				if (parts == null) {
+					complete = false;
+					continue;
+				}
+				insert(root, parts, 0);
+			}
+		}
+		root.freeze();
+	}
+
+	/**
+	 * 判断编译后的权限集合是否隐含指定权限
+	 * @param permission 请求的权限字符串
+	 * @return true/false；请求权限无法通过前缀树判断时返回 null
+	 */
+	public Boolean implies(String permission) {
+		String[][] parts = split(permission);
+		if (parts == null) {
+			return null;
+		}
+		String[] path = new String[parts.length];
+		for (int i = 0; i < parts.length; i++) {
+			if (parts[i].length != 1) {
+				return null;
+			}
+			path[i] = parts[i][0];
+		}
+		if (match(root, path, 0)) {
+			return Boolean.TRUE;
+		}
+		return complete ? Boolean.FALSE : null;
+	}
+
+	public boolean isComplete() {
+		return complete;
+	}
+
+	public boolean isCaseSensitive() {
+		return caseSensitive;
+	}
+
+	private void insert(Node node, String[][] parts, int index) {
+		if (index == parts.length) {
+			node.terminal = true;
+			return;
+		}
+		for (String subpart : parts[index]) {
+			Node child;
+			if (WILDCARD_TOKEN.equals(subpart)) {
+				if (node.wildcard == null) {
+					node.wildcard = new Node();
+				}
+				child = node.wildcard;
+			} else {
+				child = node.children.get(subpart);
+				if (child == null) {
+					child = new Node();
+					node.children.put(subpart, child);
+				}
+			}
+			insert(child, parts, index + 1);
+		}
+	}
+
+	private boolean match(Node node, String[] path, int index) {
+		// 已授权权限的段数少于请求权限：隐含其后所有段
+		if (node.terminal) {
+			return true;
+		}
+		// 请求权限已匹配完毕：已授权权限剩余的段必须全部为通配符
+		if (index == path.length) {
+			return node.wildcardTail;
+		}
+		Node child = node.children.get(path[index]);
+		if (child != null && match(child, path, index + 1)) {
+			return true;
+		}
+		return node.wildcard != null && match(node.wildcard, path, index + 1);
+	}
+
+	private String[][] split(String permission) {
+		if (!StringUtils.hasText(permission)) {
+			return null;
+		}
+		String wildcardString = permission.trim();
+		if (!caseSensitive) {
+			wildcardString = wildcardString.toLowerCase();
+		}
+		String[] parts = wildcardString.split(PART_DIVIDER_TOKEN);
+		String[][] compiled = new String[parts.length][];
+		for (int i = 0; i < parts.length; i++) {
+			String[] subparts = parts[i].split(SUBPART_DIVIDER_TOKEN);
+			if (subparts.length == 0) {
+				return null;
+			}
+			compiled[i] = subparts;
+		}
+		return compiled;
+	}
+
+	private static final class Node {
+
+		private final Map<String, Node> children = new HashMap<String, Node>(4);
+		private Node wildcard;
+		private boolean terminal;
+		private boolean wildcardTail;
+
+		private void freeze() {
+			for (Node child : children.values()) {
+				child.freeze();
+			}
+			if (wildcard != null) {
+				wildcard.freeze();
+			}
+			wildcardTail = terminal || (wildcard != null && wildcard.wildcardTail);
+		}
+
+	}
+
+}
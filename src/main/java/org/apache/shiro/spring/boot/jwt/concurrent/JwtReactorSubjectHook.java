@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.shiro.spring.boot.jwt.concurrent;
+
+import org.springframework.core.task.TaskDecorator;
+
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Reactor 调度钩子：通过 {@link Schedulers#onScheduleHook} 在 publishOn/subscribeOn 等切换线程时传递 Subject
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+public class JwtReactorSubjectHook {
+
+	public static final String HOOK_KEY = JwtReactorSubjectHook.class.getName();
+
+	private final TaskDecorator taskDecorator;
+
+	public JwtReactorSubjectHook() {
+		this(new JwtSubjectTaskDecorator());
+	}
+
+	public JwtReactorSubjectHook(TaskDecorator taskDecorator) {
+		this.taskDecorator = taskDecorator;
+	}
+
+	public JwtReactorSubjectHook install() {
+		Schedulers.onScheduleHook(HOOK_KEY, taskDecorator::decorate);
+		return this;
+	}
+
+	public void uninstall() {
+		Schedulers.resetOnScheduleHook(HOOK_KEY);
+	}
+
+}
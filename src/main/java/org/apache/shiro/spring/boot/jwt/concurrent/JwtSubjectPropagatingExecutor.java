@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.shiro.spring.boot.jwt.concurrent;
+
+import java.util.concurrent.Executor;
+
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * 传递 Subject 的 {@link Executor} 包装，可用于 <code>CompletableFuture.supplyAsync(supplier, executor)</code> 等场景
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+public class JwtSubjectPropagatingExecutor implements Executor {
+
+	private final Executor delegate;
+	private final TaskDecorator taskDecorator;
+
+	public JwtSubjectPropagatingExecutor(Executor delegate) {
+		this(delegate, new JwtSubjectTaskDecorator());
+	}
+
+	public JwtSubjectPropagatingExecutor(Executor delegate, TaskDecorator taskDecorator) {
+		this.delegate = delegate;
+		this.taskDecorator = taskDecorator;
+	}
+
+	@Override
+	public void execute(Runnable command) {
+		delegate.execute(taskDecorator.decorate(command));
+	}
+
+	public Executor getDelegate() {
+		return delegate;
+	}
+
+	/**
+	 * 包装执行器，已包装的执行器直接返回
+	 */
+	public static Executor wrap(Executor executor) {
+		return executor instanceof JwtSubjectPropagatingExecutor ? executor : new JwtSubjectPropagatingExecutor(executor);
+	}
+
+}
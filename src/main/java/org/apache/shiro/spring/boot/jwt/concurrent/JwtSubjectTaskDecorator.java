@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.shiro.spring.boot.jwt.concurrent;
+
+import org.apache.shiro.subject.Subject;
+import org.apache.shiro.util.ThreadContext;
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * Subject 传递：提交任务时捕获当前线程已绑定的 Subject，任务在工作线程（包括虚拟线程）执行期间绑定该 Subject，
+ * 执行结束后恢复工作线程原有的状态，不会残留 ThreadLocal。
+ * <p>
+ * 传递的是 JwtAuthorizationFilter 认证后的 Subject 本身，其中的 JwtPayloadPrincipal 已完成验签和解析，
+ * 工作线程无需再次解析 JWT；当前线程未绑定 Subject 时任务保持原样。
+ * </p>
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+public class JwtSubjectTaskDecorator implements TaskDecorator {
+
+	@Override
+	public Runnable decorate(Runnable runnable) {
+		// 不使用 SecurityUtils.getSubject()，避免在未认证的线程上创建匿名 Subject
+		Subject subject = ThreadContext.getSubject();
+		return subject == null ? runnable : subject.associateWith(runnable);
+	}
+
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.shiro.spring.boot.jwt.crac;
+
+/**
+ * 检查点/恢复（CRaC）感知：检查点之前丢弃密钥材料及与时间相关的缓存，恢复之后重新初始化（如随机数生成器）。
+ * <p>
+ * 不依赖 org.crac，实现此接口的 Spring Bean 由 {@link JwtCracResource} 统一注册。
+ * </p>
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+public interface JwtCheckpointAware {
+
+	/**
+	 * 检查点之前调用
+	 */
+	default void beforeCheckpoint() {
+	}
+
+	/**
+	 * 恢复之后调用
+	 */
+	default void afterRestore() {
+	}
+
+}
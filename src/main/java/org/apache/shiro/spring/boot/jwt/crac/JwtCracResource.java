@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.shiro.spring.boot.jwt.crac;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.crac.Context;
+import org.crac.Core;
+import org.crac.Resource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * CRaC 资源：检查点之前按顺序调用各个 {@link JwtCheckpointAware#beforeCheckpoint()}，
+ * 恢复之后按相反顺序调用 {@link JwtCheckpointAware#afterRestore()}。
+ * <p>
+ * 参与者在每次检查点时重新获取，以便包含注册之后才创建的对象；
+ * CRaC 上下文只保留资源的弱引用，本对象需要由调用方（如 Spring 容器）持有。
+ * </p>
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+public class JwtCracResource implements Resource {
+
+	private static final Logger LOG = LoggerFactory.getLogger(JwtCracResource.class);
+
+	private final Supplier<List<JwtCheckpointAware>> participantsSupplier;
+	/** 最近一次检查点的参与者，恢复时按相反顺序回调 */
+	private volatile List<JwtCheckpointAware> participants = Collections.emptyList();
+
+	public JwtCracResource(Supplier<List<JwtCheckpointAware>> participantsSupplier) {
+		this.participantsSupplier = participantsSupplier;
+	}
+
+	/**
+	 * 注册到全局 CRaC 上下文
+	 */
+	public JwtCracResource register() {
+		Core.getGlobalContext().register(this);
+		return this;
+	}
+
+	@Override
+	public void beforeCheckpoint(Context<? extends Resource> context) throws Exception {
+		List<JwtCheckpointAware> participants = participantsSupplier.get();
+		this.participants = participants == null ? Collections.<JwtCheckpointAware>emptyList() : participants;
+		for (JwtCheckpointAware participant : this.participants) {
+			if (LOG.isDebugEnabled()) {
+				LOG.debug("Preparing {} for checkpoint.", participant.getClass().getName());
+			}
+			participant.beforeCheckpoint();
+		}
+	}
+
+	@Override
+	public void afterRestore(Context<? extends Resource> context) throws Exception {
+		for (int i = participants.size() - 1; i >= 0; i--) {
+			JwtCheckpointAware participant = participants.get(i);
+			if (LOG.isDebugEnabled()) {
+				LOG.debug("Restoring {} after checkpoint.", participant.getClass().getName());
+			}
+			participant.afterRestore();
+		}
+	}
+
+	public List<JwtCheckpointAware> getParticipants() {
+		return participants;
+	}
+
+}
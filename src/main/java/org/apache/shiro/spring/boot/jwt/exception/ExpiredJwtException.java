@@ -15,14 +15,12 @@
  */
 package org.apache.shiro.spring.boot.jwt.exception;
 
-import org.apache.shiro.authc.AuthenticationException;
-
 /**
  * TODO
  * @author 		： <a href="https://github.com/hiwepy">hiwepy</a>
  */
 @SuppressWarnings("serial")
-public class ExpiredJwtException extends AuthenticationException {
+public class ExpiredJwtException extends JwtAuthenticationException {
 	
 	public ExpiredJwtException() {
 		super();
@@ -39,5 +37,10 @@ public class ExpiredJwtException extends AuthenticationException {
 	public ExpiredJwtException(Throwable cause) {
 		super(cause);
 	}
-	
+
+	@Override
+	public JwtFailureReason getReason() {
+		return JwtFailureReason.EXPIRED;
+	}
+
 }
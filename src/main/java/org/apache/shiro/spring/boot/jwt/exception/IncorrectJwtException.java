@@ -1,9 +1,7 @@
 package org.apache.shiro.spring.boot.jwt.exception;
 
-import org.apache.shiro.authc.AuthenticationException;
-
 @SuppressWarnings("serial")
-public class IncorrectJwtException extends AuthenticationException {
+public class IncorrectJwtException extends JwtAuthenticationException {
 	
 	public IncorrectJwtException() {
 		super();
@@ -20,5 +18,10 @@ public class IncorrectJwtException extends AuthenticationException {
 	public IncorrectJwtException(Throwable cause) {
 		super(cause);
 	}
-	
+
+	@Override
+	public JwtFailureReason getReason() {
+		return JwtFailureReason.INCORRECT;
+	}
+
 }
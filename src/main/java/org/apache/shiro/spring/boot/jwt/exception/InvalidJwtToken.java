@@ -1,9 +1,7 @@
 package org.apache.shiro.spring.boot.jwt.exception;
 
-import org.apache.shiro.authc.AuthenticationException;
-
 @SuppressWarnings("serial")
-public class InvalidJwtToken extends AuthenticationException {
+public class InvalidJwtToken extends JwtAuthenticationException {
 	
 	public InvalidJwtToken() {
 		super();
@@ -20,5 +18,10 @@ public class InvalidJwtToken extends AuthenticationException {
 	public InvalidJwtToken(Throwable cause) {
 		super(cause);
 	}
-	
+
+	@Override
+	public JwtFailureReason getReason() {
+		return JwtFailureReason.INVALID;
+	}
+
 }
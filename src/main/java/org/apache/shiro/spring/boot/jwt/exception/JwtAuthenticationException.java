@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.shiro.spring.boot.jwt.exception;
+
+import org.apache.shiro.authc.AuthenticationException;
+
+/**
+ * JWT 认证异常基类：携带 {@link JwtFailureReason}，并支持无堆栈模式。
+ * <p>
+ * 拒绝 Token 是预期内的高频操作，开启无堆栈模式（{@link #setStackless(boolean)}）后异常不再采集堆栈，
+ * 在恶意流量下可显著降低拒绝请求的开销；需要排查问题时可关闭。
+ * </p>
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+@SuppressWarnings("serial")
+public abstract class JwtAuthenticationException extends AuthenticationException {
+
+	private static volatile boolean stackless = false;
+
+	public JwtAuthenticationException() {
+		super();
+	}
+
+	public JwtAuthenticationException(String message, Throwable cause) {
+		super(message, cause);
+	}
+
+	public JwtAuthenticationException(String message) {
+		super(message);
+	}
+
+	public JwtAuthenticationException(Throwable cause) {
+		super(cause);
+	}
+
+	/**
+	 * 失败原因
+	 */
+	public abstract JwtFailureReason getReason();
+
+	@Override
+	public synchronized Throwable fillInStackTrace() {
+		return stackless ? this : super.fillInStackTrace();
+	}
+
+	public static boolean isStackless() {
+		return stackless;
+	}
+
+	public static void setStackless(boolean stackless) {
+		JwtAuthenticationException.stackless = stackless;
+	}
+
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.shiro.spring.boot.jwt.exception;
+
+import org.apache.shiro.biz.authc.AuthcResponseCode;
+
+/**
+ * JWT 认证失败原因，失败处理器根据原因直接分派，无需 instanceof 判断
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+public enum JwtFailureReason {
+
+	/** Jwt过期 */
+	EXPIRED(AuthcResponseCode.SC_AUTHZ_TOKEN_EXPIRED),
+	/** Jwt错误 */
+	INCORRECT(AuthcResponseCode.SC_AUTHZ_TOKEN_INCORRECT),
+	/** Jwt无效 */
+	INVALID(AuthcResponseCode.SC_AUTHZ_TOKEN_INVALID),
+	/** Jwt缺失 */
+	REQUIRED(AuthcResponseCode.SC_AUTHZ_TOKEN_REQUIRED),
+	/** 其他认证失败 */
+	OTHER(AuthcResponseCode.SC_AUTHC_FAIL);
+
+	private final AuthcResponseCode responseCode;
+
+	private JwtFailureReason(AuthcResponseCode responseCode) {
+		this.responseCode = responseCode;
+	}
+
+	public AuthcResponseCode getResponseCode() {
+		return responseCode;
+	}
+
+	/**
+	 * 获取异常对应的失败原因
+	 * @param ex 异常
+	 * @return 失败原因，非 JWT 异常返回 {@link #OTHER}
+	 */
+	public static JwtFailureReason of(Throwable ex) {
+		return ex instanceof JwtAuthenticationException ? ((JwtAuthenticationException) ex).getReason() : OTHER;
+	}
+
+}
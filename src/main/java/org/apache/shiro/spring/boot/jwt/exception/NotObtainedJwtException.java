@@ -1,9 +1,7 @@
 package org.apache.shiro.spring.boot.jwt.exception;
 
-import org.apache.shiro.authc.AuthenticationException;
-
 @SuppressWarnings("serial")
-public class NotObtainedJwtException extends AuthenticationException {
+public class NotObtainedJwtException extends JwtAuthenticationException {
 	
 	public NotObtainedJwtException() {
 		super();
@@ -20,5 +18,10 @@ public class NotObtainedJwtException extends AuthenticationException {
 	public NotObtainedJwtException(Throwable cause) {
 		super(cause);
 	}
-	
+
+	@Override
+	public JwtFailureReason getReason() {
+		return JwtFailureReason.REQUIRED;
+	}
+
 }
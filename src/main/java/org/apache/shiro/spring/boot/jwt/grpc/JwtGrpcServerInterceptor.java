@@ -0,0 +1,259 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.shiro.spring.boot.jwt.grpc;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+
+import org.apache.shiro.authc.AuthenticationException;
+import org.apache.shiro.authc.AuthenticationInfo;
+import org.apache.shiro.mgt.SecurityManager;
+import org.apache.shiro.spring.boot.jwt.JwtPayloadPrincipal;
+import org.apache.shiro.spring.boot.jwt.JwtPayloadRepository;
+import org.apache.shiro.spring.boot.jwt.audit.JwtAuditPublisher;
+import org.apache.shiro.spring.boot.jwt.exception.InvalidJwtToken;
+import org.apache.shiro.spring.boot.jwt.exception.JwtFailureReason;
+import org.apache.shiro.spring.boot.jwt.token.JwtAuthorizationToken;
+import org.apache.shiro.spring.boot.jwt.token.JwtReferenceTokenStore;
+import org.apache.shiro.subject.Subject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.StringUtils;
+
+import io.grpc.Context;
+import io.grpc.Contexts;
+import io.grpc.ForwardingServerCallListener.SimpleForwardingServerCallListener;
+import io.grpc.Grpc;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+
+/**
+ * JSON Web Token (JWT) gRPC 服务端拦截器：从 Metadata 中读取令牌，
+ * 通过 {@link SecurityManager#authenticate} 交由 JWT Realm（{@link org.apache.shiro.spring.boot.jwt.JwtPrincipalRepository}）解析，
+ * 与 {@link org.apache.shiro.spring.boot.jwt.authz.JwtAuthorizationFilter} 的校验逻辑一致。
+ * <p>
+ * 每次调用只在开始时校验一次，流式调用的后续消息不再验签；
+ * 认证后的 Subject 和 {@link JwtPayloadPrincipal} 写入 gRPC {@link Context}，
+ * 监听器的每个回调都在该 Subject 下执行，服务实现中可直接使用 SecurityUtils 及 Shiro 注解进行授权。
+ * </p>
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+public class JwtGrpcServerInterceptor implements ServerInterceptor {
+
+	private static final Logger LOG = LoggerFactory.getLogger(JwtGrpcServerInterceptor.class);
+
+	/** 当前调用的 Subject */
+	public static final Context.Key<Subject> SUBJECT_KEY = Context.key("shiro.jwt.subject");
+	/** 当前调用的 JWT 主体 */
+	public static final Context.Key<JwtPayloadPrincipal> PRINCIPAL_KEY = Context.key("shiro.jwt.principal");
+
+	protected static final String AUTHORIZATION_HEADER = "X-Authorization";
+	protected static final String BEARER_PREFIX = "Bearer ";
+
+	private final SecurityManager securityManager;
+	private final JwtPayloadRepository jwtPayloadRepository;
+	private Metadata.Key<String> authorizationKey = Metadata.Key.of(AUTHORIZATION_HEADER, Metadata.ASCII_STRING_MARSHALLER);
+	/** If Check JWT Validity. */
+	private boolean checkExpiry = false;
+	/** Reference Token Store, Reference Tokens Are Not Verified Again. */
+	private JwtReferenceTokenStore referenceTokenStore;
+	/** Audit Publisher, Authentication Results Are Enqueued And Written Asynchronously. */
+	private JwtAuditPublisher auditPublisher;
+
+	public JwtGrpcServerInterceptor(SecurityManager securityManager, JwtPayloadRepository jwtPayloadRepository) {
+		this.securityManager = securityManager;
+		this.jwtPayloadRepository = jwtPayloadRepository;
+	}
+
+	@Override
+	public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(ServerCall<ReqT, RespT> call, Metadata headers,
+			ServerCallHandler<ReqT, RespT> next) {
+
+		String host = getHost(call);
+		String token = getAccessToken(headers);
+		if (!StringUtils.hasText(token)) {
+			return reject(call, host, JwtFailureReason.REQUIRED, null);
+		}
+
+		Subject subject;
+		try {
+			subject = authenticate(new JwtAuthorizationToken(host, token, false));
+		} catch (AuthenticationException e) {
+			if (LOG.isDebugEnabled()) {
+				LOG.debug("gRPC call {} rejected: {}", call.getMethodDescriptor().getFullMethodName(), e.getMessage());
+			}
+			return reject(call, host, JwtFailureReason.of(e), e);
+		}
+		if (getAuditPublisher() != null) {
+			getAuditPublisher().publishSuccess(subject, host);
+		}
+
+		Context context = Context.current().withValue(SUBJECT_KEY, subject);
+		if (subject.getPrincipal() instanceof JwtPayloadPrincipal) {
+			context = context.withValue(PRINCIPAL_KEY, (JwtPayloadPrincipal) subject.getPrincipal());
+		}
+		return new SubjectBindingListener<ReqT>(Contexts.interceptCall(context, call, headers, next), subject);
+	}
+
+	/**
+	 * 委托给 Realm 认证并构建无会话的 Subject
+	 */
+	protected Subject authenticate(JwtAuthorizationToken token) throws AuthenticationException {
+		AuthenticationInfo info = securityManager.authenticate(token);
+		Subject subject = new Subject.Builder(securityManager)
+				.principals(info.getPrincipals())
+				.authenticated(true)
+				.sessionCreationEnabled(false)
+				.host(token.getHost())
+				.buildSubject();
+		if (isCheckExpiry() && !isReferenceToken(token)
+				&& !getJwtPayloadRepository().verify(token, subject, isCheckExpiry())) {
+			throw new InvalidJwtToken("Invalid JWT value.");
+		}
+		return subject;
+	}
+
+	/**
+	 * 拒绝调用：状态描述只包含失败原因，异常信息仅记录日志，避免向客户端泄露校验细节
+	 */
+	protected <ReqT, RespT> ServerCall.Listener<ReqT> reject(ServerCall<ReqT, RespT> call, String host,
+			JwtFailureReason reason, AuthenticationException ex) {
+		if (getAuditPublisher() != null && ex != null) {
+			getAuditPublisher().publishFailure(host, ex);
+		}
+		Status status = Status.UNAUTHENTICATED.withDescription(reason.name());
+		call.close(status, new Metadata());
+		return new ServerCall.Listener<ReqT>() {
+		};
+	}
+
+	protected String getAccessToken(Metadata headers) {
+		String token = headers.get(authorizationKey);
+		if (token != null && token.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length())) {
+			token = token.substring(BEARER_PREFIX.length()).trim();
+		}
+		return token;
+	}
+
+	protected String getHost(ServerCall<?, ?> call) {
+		SocketAddress address = call.getAttributes().get(Grpc.TRANSPORT_ATTR_REMOTE_ADDR);
+		if (address instanceof InetSocketAddress) {
+			return ((InetSocketAddress) address).getHostString();
+		}
+		return address == null ? null : address.toString();
+	}
+
+	protected boolean isReferenceToken(JwtAuthorizationToken token) {
+		return getReferenceTokenStore() != null && getReferenceTokenStore().isReference(token.getToken());
+	}
+
+	/**
+	 * 获取当前 gRPC 调用的 Subject
+	 */
+	public static Subject currentSubject() {
+		return SUBJECT_KEY.get();
+	}
+
+	/**
+	 * 获取当前 gRPC 调用的 JWT 主体
+	 */
+	public static JwtPayloadPrincipal currentPrincipal() {
+		return PRINCIPAL_KEY.get();
+	}
+
+	public SecurityManager getSecurityManager() {
+		return securityManager;
+	}
+
+	public JwtPayloadRepository getJwtPayloadRepository() {
+		return jwtPayloadRepository;
+	}
+
+	public String getAuthorizationHeaderName() {
+		return authorizationKey.name();
+	}
+
+	public void setAuthorizationHeaderName(String authorizationHeaderName) {
+		this.authorizationKey = Metadata.Key.of(authorizationHeaderName, Metadata.ASCII_STRING_MARSHALLER);
+	}
+
+	public boolean isCheckExpiry() {
+		return checkExpiry;
+	}
+
+	public void setCheckExpiry(boolean checkExpiry) {
+		this.checkExpiry = checkExpiry;
+	}
+
+	public JwtReferenceTokenStore getReferenceTokenStore() {
+		return referenceTokenStore;
+	}
+
+	public void setReferenceTokenStore(JwtReferenceTokenStore referenceTokenStore) {
+		this.referenceTokenStore = referenceTokenStore;
+	}
+
+	public JwtAuditPublisher getAuditPublisher() {
+		return auditPublisher;
+	}
+
+	public void setAuditPublisher(JwtAuditPublisher auditPublisher) {
+		this.auditPublisher = auditPublisher;
+	}
+
+	/*
+	 * 监听器回调可能在不同的线程上执行，每次回调都绑定 Subject 并在结束后解绑
+	 */
+	private static final class SubjectBindingListener<ReqT> extends SimpleForwardingServerCallListener<ReqT> {
+
+		private final Subject subject;
+
+		private SubjectBindingListener(ServerCall.Listener<ReqT> delegate, Subject subject) {
+			super(delegate);
+			this.subject = subject;
+		}
+
+		@Override
+		public void onMessage(ReqT message) {
+			subject.execute(() -> delegate().onMessage(message));
+		}
+
+		@Override
+		public void onHalfClose() {
+			subject.execute(() -> delegate().onHalfClose());
+		}
+
+		@Override
+		public void onCancel() {
+			subject.execute(() -> delegate().onCancel());
+		}
+
+		@Override
+		public void onComplete() {
+			subject.execute(() -> delegate().onComplete());
+		}
+
+		@Override
+		public void onReady() {
+			subject.execute(() -> delegate().onReady());
+		}
+
+	}
+
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.shiro.spring.boot.jwt.invalidation;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 当前 JVM 内的失效事件总线，在发布线程上同步通知所有监听器
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+public class InMemoryJwtInvalidationBus implements JwtInvalidationBus {
+
+	private static final Logger LOG = LoggerFactory.getLogger(InMemoryJwtInvalidationBus.class);
+
+	private final List<JwtInvalidationListener> listeners = new CopyOnWriteArrayList<JwtInvalidationListener>();
+
+	@Override
+	public void publish(JwtInvalidationEvent event) {
+		for (JwtInvalidationListener listener : listeners) {
+			try {
+				listener.onInvalidation(event);
+			} catch (RuntimeException e) {
+				LOG.error("JWT invalidation listener failed on {}: {}", event, e.getMessage());
+			}
+		}
+	}
+
+	@Override
+	public void subscribe(JwtInvalidationListener listener) {
+		listeners.add(listener);
+	}
+
+	@Override
+	public void unsubscribe(JwtInvalidationListener listener) {
+		listeners.remove(listener);
+	}
+
+}
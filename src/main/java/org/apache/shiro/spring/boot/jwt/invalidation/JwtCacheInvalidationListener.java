@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.shiro.spring.boot.jwt.invalidation;
+
+import org.apache.shiro.spring.boot.jwt.authz.JwtDecisionCache;
+import org.apache.shiro.spring.boot.jwt.profile.JwtProfileCache;
+
+/**
+ * 收到失效事件时清理本地缓存：主体事件只清理该主体的 Profile，角色及全局事件清理全部 Profile；
+ * 授权决策缓存按权限集合指纹缓存，无法按主体定位，任何事件都会清空。
+ * <p>
+ * 已签发令牌中的旧主张由 {@link JwtValidAfterRegistry} 拒绝，验签缓存无需清理。
+ * </p>
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+public class JwtCacheInvalidationListener implements JwtInvalidationListener {
+
+	private JwtProfileCache profileCache;
+	private JwtDecisionCache decisionCache;
+
+	@Override
+	public void onInvalidation(JwtInvalidationEvent event) {
+		if (profileCache != null) {
+			if (event.getScope() == JwtInvalidationEvent.Scope.SUBJECT) {
+				profileCache.invalidate(event.getTarget());
+			} else {
+				profileCache.invalidateAll();
+			}
+		}
+		if (decisionCache != null) {
+			decisionCache.invalidateAll();
+		}
+	}
+
+	public JwtProfileCache getProfileCache() {
+		return profileCache;
+	}
+
+	public void setProfileCache(JwtProfileCache profileCache) {
+		this.profileCache = profileCache;
+	}
+
+	public JwtDecisionCache getDecisionCache() {
+		return decisionCache;
+	}
+
+	public void setDecisionCache(JwtDecisionCache decisionCache) {
+		this.decisionCache = decisionCache;
+	}
+
+}
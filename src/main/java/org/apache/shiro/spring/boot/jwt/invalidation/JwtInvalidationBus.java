@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.shiro.spring.boot.jwt.invalidation;
+
+/**
+ * 失效事件总线 SPI：{@link InMemoryJwtInvalidationBus} 仅在当前 JVM 内分发；
+ * 集群部署时可基于消息中间件（Redis Pub/Sub、Kafka 等）实现此接口替换默认实现。
+ * <p>
+ * 实现类需要保证发布的事件同样投递给当前节点的监听器；同一事件可能被重复投递，监听器需要保证幂等。
+ * </p>
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+public interface JwtInvalidationBus {
+
+	/**
+	 * 广播失效事件
+	 */
+	void publish(JwtInvalidationEvent event);
+
+	/**
+	 * 订阅失效事件
+	 */
+	void subscribe(JwtInvalidationListener listener);
+
+	void unsubscribe(JwtInvalidationListener listener);
+
+}
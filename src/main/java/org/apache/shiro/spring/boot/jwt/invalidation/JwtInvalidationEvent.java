@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.shiro.spring.boot.jwt.invalidation;
+
+import java.io.Serializable;
+
+/**
+ * 失效事件：使指定主体（sub）、角色或全部在某一时刻之前签发的令牌失效，
+ * 并通知各节点清理相关的本地缓存。
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+@SuppressWarnings("serial")
+public final class JwtInvalidationEvent implements Serializable {
+
+	public enum Scope {
+		/** 指定主体 */
+		SUBJECT,
+		/** 拥有指定角色的主体 */
+		ROLE,
+		/** 全部主体 */
+		ALL
+	}
+
+	private final Scope scope;
+	private final String target;
+	/** 此时刻（毫秒）之前签发的令牌失效 */
+	private final long issuedBefore;
+
+	public JwtInvalidationEvent(Scope scope, String target, long issuedBefore) {
+		if (scope == null || (scope != Scope.ALL && target == null)) {
+			throw new IllegalArgumentException("Invalidation scope and target are required.");
+		}
+		this.scope = scope;
+		this.target = scope == Scope.ALL ? null : target;
+		this.issuedBefore = issuedBefore;
+	}
+
+	public static JwtInvalidationEvent subject(String subject) {
+		return new JwtInvalidationEvent(Scope.SUBJECT, subject, System.currentTimeMillis());
+	}
+
+	public static JwtInvalidationEvent role(String role) {
+		return new JwtInvalidationEvent(Scope.ROLE, role, System.currentTimeMillis());
+	}
+
+	public static JwtInvalidationEvent all() {
+		return new JwtInvalidationEvent(Scope.ALL, null, System.currentTimeMillis());
+	}
+
+	public Scope getScope() {
+		return scope;
+	}
+
+	public String getTarget() {
+		return target;
+	}
+
+	public long getIssuedBefore() {
+		return issuedBefore;
+	}
+
+	@Override
+	public String toString() {
+		return "JwtInvalidationEvent[" + scope + (target == null ? "" : ":" + target) + " before " + issuedBefore + "]";
+	}
+
+}
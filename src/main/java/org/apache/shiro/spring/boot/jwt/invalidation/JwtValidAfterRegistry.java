@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.shiro.spring.boot.jwt.invalidation;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.shiro.authc.AuthenticationException;
+import org.apache.shiro.spring.boot.jwt.exception.ExpiredJwtException;
+
+import com.github.hiwepy.jwt.JwtPayload.RolePair;
+
+/**
+ * 令牌生效水位："valid-after" 之前签发的令牌被拒绝。
+ * <p>
+ * 按主体、角色及全局分别记录水位，检查时只做哈希表查找；水位按事件中的时刻单调递增，重复投递不影响结果。
+ * 超过令牌最长有效期的水位已不可能拦截任何令牌，在收到新事件时清理，保证内存有界。
+ * </p>
+ * <p>
+ * 主体水位已由持久化的吊销存储（如 MappedJwtRevocationStore）记录并检查时，关闭 {@link #setSubjectWatermarkEnabled(boolean)}，
+ * 避免同一水位保存两份、每次请求检查两次。
+ * </p>
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+public class JwtValidAfterRegistry implements JwtInvalidationListener {
+
+	/** 默认水位保留时间：24小时 */
+	public static final long DEFAULT_TIME_TO_LIVE = 24 * 60 * 60 * 1000L;
+
+	private final ConcurrentMap<String, Long> subjects = new ConcurrentHashMap<String, Long>();
+	private final ConcurrentMap<String, Long> roles = new ConcurrentHashMap<String, Long>();
+	private volatile long global = 0L;
+	/** 是否记录并检查主体水位 */
+	private boolean subjectWatermarkEnabled = true;
+	/** 水位保留时间（毫秒），不应小于令牌的最长有效期 */
+	private long timeToLive = DEFAULT_TIME_TO_LIVE;
+
+	@Override
+	public void onInvalidation(JwtInvalidationEvent event) {
+		// iat 精确到秒，水位向下取整到秒，避免拒绝同一秒内重新签发的令牌
+		long watermark = event.getIssuedBefore() / 1000 * 1000;
+		switch (event.getScope()) {
+		case SUBJECT:
+			if (subjectWatermarkEnabled) {
+				subjects.merge(event.getTarget(), watermark, Math::max);
+			}
+			break;
+		case ROLE:
+			roles.merge(event.getTarget(), watermark, Math::max);
+			break;
+		default:
+			synchronized (this) {
+				global = Math.max(global, watermark);
+			}
+			break;
+		}
+		purge(System.currentTimeMillis());
+	}
+
+	/**
+	 * 检查令牌是否在水位之前签发
+	 * @param subject 主体（sub）
+	 * @param roles 角色
+	 * @param issuedAt 签发时间（毫秒），未知时为 0：只要存在适用的水位即视为失效
+	 * @throws AuthenticationException 令牌已失效
+	 */
+	public void check(String subject, List<RolePair> roles, long issuedAt) throws AuthenticationException {
+		if (issuedAt < global) {
+			throw new ExpiredJwtException("JWT has been invalidated.");
+		}
+		if (subject != null && !subjects.isEmpty()) {
+			Long watermark = subjects.get(subject);
+			if (watermark != null && issuedAt < watermark) {
+				throw new ExpiredJwtException("JWT has been invalidated.");
+			}
+		}
+		if (roles != null && !this.roles.isEmpty()) {
+			for (RolePair role : roles) {
+				Long watermark = this.roles.get(role.getKey());
+				if (watermark != null && issuedAt < watermark) {
+					throw new ExpiredJwtException("JWT has been invalidated.");
+				}
+			}
+		}
+	}
+
+	/**
+	 * 清理已超过保留时间的水位
+	 */
+	public void purge(long now) {
+		long expired = now - timeToLive;
+		subjects.values().removeIf(watermark -> watermark < expired);
+		roles.values().removeIf(watermark -> watermark < expired);
+	}
+
+	public Long getSubjectWatermark(String subject) {
+		return subjects.get(subject);
+	}
+
+	public Long getRoleWatermark(String role) {
+		return roles.get(role);
+	}
+
+	public long getGlobalWatermark() {
+		return global;
+	}
+
+	public int size() {
+		return subjects.size() + roles.size();
+	}
+
+	public boolean isSubjectWatermarkEnabled() {
+		return subjectWatermarkEnabled;
+	}
+
+	public void setSubjectWatermarkEnabled(boolean subjectWatermarkEnabled) {
+		this.subjectWatermarkEnabled = subjectWatermarkEnabled;
+	}
+
+	public long getTimeToLive() {
+		return timeToLive;
+	}
+
+	public void setTimeToLive(long timeToLive) {
+		this.timeToLive = timeToLive;
+	}
+
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.shiro.spring.boot.jwt.issuer;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.shiro.authc.AuthenticationException;
+import org.apache.shiro.spring.boot.jwt.JwtPayloadRepository;
+import org.apache.shiro.spring.boot.jwt.exception.ExpiredJwtException;
+
+import com.github.hiwepy.jwt.JwtPayload;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * 租户：一个签发者（iss）及其签名密钥标识（kid），由独立的 {@link JwtPayloadRepository} 使用该租户的密钥验签。
+ * <p>
+ * 每个租户维护独立的验签缓存和计数，缓存中只保存已通过签名验证的载荷，命中时仍检查过期时间。
+ * </p>
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+public class JwtIssuerTenant {
+
+	/** 默认每个租户最多缓存的令牌数量 */
+	public static final long DEFAULT_CACHE_SIZE = 10000;
+	/** 默认缓存有效期：5分钟 */
+	public static final long DEFAULT_CACHE_TIME_TO_LIVE = 5 * 60 * 1000L;
+
+	private final String id;
+	private final String issuer;
+	private final Set<String> keyIds;
+	private final JwtPayloadRepository repository;
+	private Cache<String, JwtPayload> verified;
+
+	private final LongAdder requests = new LongAdder();
+	private final LongAdder cacheHits = new LongAdder();
+	private final LongAdder failures = new LongAdder();
+
+	/**
+	 * @param id 租户标识
+	 * @param issuer 签发者（iss），为空时只按 kid 路由
+	 * @param keyIds 签名密钥标识（kid）
+	 * @param repository 使用该租户密钥的载荷仓库
+	 */
+	public JwtIssuerTenant(String id, String issuer, Collection<String> keyIds, JwtPayloadRepository repository) {
+		this.id = id;
+		this.issuer = issuer;
+		this.keyIds = keyIds == null ? Collections.<String>emptySet() : Collections.unmodifiableSet(new LinkedHashSet<String>(keyIds));
+		this.repository = repository;
+		setCache(DEFAULT_CACHE_SIZE, DEFAULT_CACHE_TIME_TO_LIVE);
+	}
+
+	/**
+	 * 设置验签缓存，容量为0时不缓存
+	 * @param maximumSize 最多缓存的令牌数量
+	 * @param timeToLive 有效期（毫秒）
+	 */
+	public void setCache(long maximumSize, long timeToLive) {
+		this.verified = maximumSize <= 0 || timeToLive <= 0 ? null
+				: CacheBuilder.newBuilder().maximumSize(maximumSize).expireAfterWrite(timeToLive, TimeUnit.MILLISECONDS).build();
+	}
+
+	public boolean verify(String token, boolean checkExpiry) throws AuthenticationException {
+		requests.increment();
+		if (getCached(token, checkExpiry) != null) {
+			return true;
+		}
+		try {
+			if (!repository.verify(token, checkExpiry)) {
+				failures.increment();
+				return false;
+			}
+			return true;
+		} catch (AuthenticationException e) {
+			failures.increment();
+			throw e;
+		}
+	}
+
+	public JwtPayload getPayload(String token, boolean checkExpiry) throws AuthenticationException {
+		requests.increment();
+		JwtPayload payload = getCached(token, checkExpiry);
+		if (payload != null) {
+			return payload;
+		}
+		try {
+			payload = repository.getPayload(token, checkExpiry);
+		} catch (AuthenticationException e) {
+			failures.increment();
+			throw e;
+		}
+		if (payload != null && verified != null) {
+			verified.put(token, payload);
+		}
+		return payload;
+	}
+
+	protected JwtPayload getCached(String token, boolean checkExpiry) throws AuthenticationException {
+		if (verified == null || token == null) {
+			return null;
+		}
+		JwtPayload payload = verified.getIfPresent(token);
+		if (payload == null) {
+			return null;
+		}
+		if (checkExpiry && payload.getExpiration() != null && payload.getExpiration().getTime() <= System.currentTimeMillis()) {
+			verified.invalidate(token);
+			failures.increment();
+			throw new ExpiredJwtException("JWT expired at " + payload.getExpiration().getTime() / 1000 + ".");
+		}
+		cacheHits.increment();
+		return payload;
+	}
+
+	public void invalidateAll() {
+		if (verified != null) {
+			verified.invalidateAll();
+		}
+	}
+
+	public String getId() {
+		return id;
+	}
+
+	public String getIssuer() {
+		return issuer;
+	}
+
+	public Set<String> getKeyIds() {
+		return keyIds;
+	}
+
+	public JwtPayloadRepository getRepository() {
+		return repository;
+	}
+
+	public long getRequestCount() {
+		return requests.sum();
+	}
+
+	public long getCacheHitCount() {
+		return cacheHits.sum();
+	}
+
+	public long getFailureCount() {
+		return failures.sum();
+	}
+
+	public long getCacheSize() {
+		return verified == null ? 0 : verified.size();
+	}
+
+}
@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.shiro.spring.boot.jwt.issuer;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.shiro.authc.AuthenticationException;
+import org.apache.shiro.authc.AuthenticationToken;
+import org.apache.shiro.spring.boot.jwt.JwtPayloadRepository;
+import org.apache.shiro.spring.boot.jwt.crac.JwtCheckpointAware;
+import org.apache.shiro.spring.boot.jwt.exception.InvalidJwtToken;
+import org.apache.shiro.spring.boot.jwt.token.JwtAuthorizationToken;
+import org.apache.shiro.spring.boot.jwt.token.JwtClaimsScanner;
+import org.apache.shiro.subject.Subject;
+import org.springframework.util.StringUtils;
+
+import com.github.hiwepy.jwt.JwtPayload;
+
+/**
+ * 多签发者（多租户）载荷仓库：读取一次未经验证的 header.kid 和 payload.iss，
+ * 通过哈希表直接定位租户，交由租户的 {@link JwtPayloadRepository} 使用对应密钥验签，无需逐个尝试。
+ * <p>
+ * 优先按 kid 路由；按 kid 路由且租户声明了签发者时，验签通过后还要求 iss 与租户一致，
+ * 防止持有某个租户密钥的一方冒充其他签发者。未知的签发者直接拒绝，不执行任何加密运算。
+ * </p>
+ * 签发令牌委托给默认租户。
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+public class MultiIssuerJwtPayloadRepository implements JwtPayloadRepository, JwtCheckpointAware {
+
+	private final ConcurrentMap<String, JwtIssuerTenant> tenantsById = new ConcurrentHashMap<String, JwtIssuerTenant>();
+	private final ConcurrentMap<String, JwtIssuerTenant> tenantsByKeyId = new ConcurrentHashMap<String, JwtIssuerTenant>();
+	private final ConcurrentMap<String, JwtIssuerTenant> tenantsByIssuer = new ConcurrentHashMap<String, JwtIssuerTenant>();
+	private final LongAdder unknownIssuers = new LongAdder();
+	/** 签发令牌使用的租户 */
+	private volatile JwtIssuerTenant defaultTenant;
+
+	public MultiIssuerJwtPayloadRepository() {
+	}
+
+	public MultiIssuerJwtPayloadRepository(Collection<JwtIssuerTenant> tenants) {
+		if (tenants != null) {
+			tenants.forEach(this::register);
+		}
+	}
+
+	/**
+	 * 注册租户，kid 或 iss 与已注册的租户冲突时抛出异常；第一个注册的租户作为默认租户
+	 */
+	public synchronized void register(JwtIssuerTenant tenant) {
+		if (tenantsById.containsKey(tenant.getId())) {
+			throw new IllegalArgumentException("Duplicate JWT tenant: " + tenant.getId());
+		}
+		for (String keyId : tenant.getKeyIds()) {
+			if (tenantsByKeyId.containsKey(keyId)) {
+				throw new IllegalArgumentException("Duplicate JWT key id: " + keyId);
+			}
+		}
+		if (StringUtils.hasText(tenant.getIssuer()) && tenantsByIssuer.containsKey(tenant.getIssuer())) {
+			throw new IllegalArgumentException("Duplicate JWT issuer: " + tenant.getIssuer());
+		}
+		tenantsById.put(tenant.getId(), tenant);
+		for (String keyId : tenant.getKeyIds()) {
+			tenantsByKeyId.put(keyId, tenant);
+		}
+		if (StringUtils.hasText(tenant.getIssuer())) {
+			tenantsByIssuer.put(tenant.getIssuer(), tenant);
+		}
+		if (defaultTenant == null) {
+			defaultTenant = tenant;
+		}
+	}
+
+	public synchronized void unregister(String tenantId) {
+		JwtIssuerTenant tenant = tenantsById.remove(tenantId);
+		if (tenant == null) {
+			return;
+		}
+		tenantsByKeyId.values().removeIf(tenant::equals);
+		tenantsByIssuer.values().removeIf(tenant::equals);
+		if (defaultTenant == tenant) {
+			defaultTenant = tenantsById.isEmpty() ? null : tenantsById.values().iterator().next();
+		}
+	}
+
+	@Override
+	public String issueJwt(String userId, Map<String, Object> profile) {
+		JwtIssuerTenant tenant = defaultTenant;
+		return tenant == null ? "" : tenant.getRepository().issueJwt(userId, profile);
+	}
+
+	@Override
+	public boolean verify(AuthenticationToken token, Subject subject, boolean checkExpiry) throws AuthenticationException {
+		return verify(((JwtAuthorizationToken) token).getToken(), checkExpiry);
+	}
+
+	@Override
+	public boolean verify(String token, boolean checkExpiry) throws AuthenticationException {
+		Route route = route(token);
+		if (!route.tenant.verify(token, checkExpiry)) {
+			return false;
+		}
+		route.checkIssuer();
+		return true;
+	}
+
+	@Override
+	public JwtPayload getPayload(JwtAuthorizationToken token, boolean checkExpiry) {
+		return getPayload(token.getToken(), checkExpiry);
+	}
+
+	@Override
+	public JwtPayload getPayload(String token, boolean checkExpiry) {
+		Route route = route(token);
+		JwtPayload payload = route.tenant.getPayload(token, checkExpiry);
+		route.checkIssuer();
+		return payload;
+	}
+
+	/*
+	 * 按 kid、iss 定位租户，只解码一次 header 和 payload
+	 */
+	protected Route route(String token) throws AuthenticationException {
+		String keyId = JwtClaimsScanner.scanString(JwtClaimsScanner.decodeHeader(token), "kid");
+		String issuer = JwtClaimsScanner.scanString(JwtClaimsScanner.decodePayload(token), "iss");
+		JwtIssuerTenant tenant = keyId == null ? null : tenantsByKeyId.get(keyId);
+		if (tenant != null) {
+			return new Route(tenant, issuer, true);
+		}
+		tenant = issuer == null ? null : tenantsByIssuer.get(issuer);
+		if (tenant != null) {
+			return new Route(tenant, issuer, false);
+		}
+		unknownIssuers.increment();
+		throw new InvalidJwtToken("Unknown JWT issuer.");
+	}
+
+	@Override
+	public void beforeCheckpoint() {
+		invalidateAll();
+	}
+
+	public void invalidateAll() {
+		tenantsById.values().forEach(JwtIssuerTenant::invalidateAll);
+	}
+
+	public JwtIssuerTenant getTenant(String tenantId) {
+		return tenantsById.get(tenantId);
+	}
+
+	public List<JwtIssuerTenant> getTenants() {
+		return Collections.unmodifiableList(new ArrayList<JwtIssuerTenant>(tenantsById.values()));
+	}
+
+	public JwtIssuerTenant getDefaultTenant() {
+		return defaultTenant;
+	}
+
+	public void setDefaultTenant(String tenantId) {
+		JwtIssuerTenant tenant = tenantsById.get(tenantId);
+		if (tenant == null) {
+			throw new IllegalArgumentException("Unknown JWT tenant: " + tenantId);
+		}
+		this.defaultTenant = tenant;
+	}
+
+	public long getUnknownIssuerCount() {
+		return unknownIssuers.sum();
+	}
+
+	protected static final class Route {
+
+		private final JwtIssuerTenant tenant;
+		private final String issuer;
+		private final boolean byKeyId;
+
+		private Route(JwtIssuerTenant tenant, String issuer, boolean byKeyId) {
+			this.tenant = tenant;
+			this.issuer = issuer;
+			this.byKeyId = byKeyId;
+		}
+
+		/*
+		 * 签名验证通过后 iss 已可信，按 kid 路由时校验其与租户声明的签发者一致
+		 */
+		private void checkIssuer() throws AuthenticationException {
+			if (byKeyId && StringUtils.hasText(tenant.getIssuer()) && !tenant.getIssuer().equals(issuer)) {
+				throw new InvalidJwtToken("JWT issuer does not match the signing key.");
+			}
+		}
+
+		public JwtIssuerTenant getTenant() {
+			return tenant;
+		}
+
+	}
+
+}
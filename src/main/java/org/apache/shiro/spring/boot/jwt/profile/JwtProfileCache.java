@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.shiro.spring.boot.jwt.profile;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.shiro.spring.boot.jwt.crac.JwtCheckpointAware;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * 用户 Profile 缓存：有效期和容量有限，未命中时通过 {@link JwtProfileLoader} 加载
+ * @author 		： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+public class JwtProfileCache implements JwtCheckpointAware {
+
+	private static final Logger LOG = LoggerFactory.getLogger(JwtProfileCache.class);
+
+	/** 默认有效期：10分钟 */
+	public static final long DEFAULT_TIME_TO_LIVE = 10 * 60 * 1000L;
+	/** 默认最大缓存数量 */
+	public static final long DEFAULT_MAXIMUM_SIZE = 10000;
+
+	private final JwtProfileLoader profileLoader;
+	private final Cache<String, Map<String, Object>> profiles;
+
+	public JwtProfileCache(JwtProfileLoader profileLoader) {
+		this(profileLoader, DEFAULT_TIME_TO_LIVE, DEFAULT_MAXIMUM_SIZE);
+	}
+
+	public JwtProfileCache(JwtProfileLoader profileLoader, long timeToLive, long maximumSize) {
+		this.profileLoader = profileLoader;
+		this.profiles = CacheBuilder.newBuilder()
+				.expireAfterWrite(timeToLive, TimeUnit.MILLISECONDS)
+				.maximumSize(maximumSize)
+				.build();
+	}
+
+	/**
+	 * 获取用户 Profile，未命中时加载并缓存
+	 * @param userId 用户ID
+	 * @return 用户 Profile，不会返回 null
+	 */
+	public Map<String, Object> getProfile(final String userId) {
+		if (userId == null) {
+			return Collections.emptyMap();
+		}
+		try {
+			return profiles.get(userId, () -> {
+				Map<String, Object> profile = profileLoader == null ? null : profileLoader.loadProfile(userId);
+				return profile == null ? Collections.<String, Object>emptyMap() : Collections.unmodifiableMap(profile);
+			});
+		} catch (ExecutionException e) {
+			LOG.error("Failed to load profile of user [{}]: {}", userId, e.getCause().getMessage());
+			return Collections.emptyMap();
+		}
+	}
+
+	/**
+	 * 缓存用户 Profile，如登录时已获取的 Profile
+	 * @param userId 用户ID
+	 * @param profile 用户 Profile
+	 */
+	public void put(String userId, Map<String, Object> profile) {
+		if (userId != null && profile != null) {
+			profiles.put(userId, Collections.unmodifiableMap(new HashMap<String, Object>(profile)));
+		}
+	}
+
+	public void invalidate(String userId) {
+		if (userId != null) {
+			profiles.invalidate(userId);
+		}
+	}
+
+	public void invalidateAll() {
+		profiles.invalidateAll();
+	}
+
+	public JwtProfileLoader getProfileLoader() {
+		return profileLoader;
+	}
+
+	/**
+	 * 检查点之前清空 Profile，避免用户资料被写入检查点镜像，且恢复后缓存有效期不再可信
+	 */
+	@Override
+	public void beforeCheckpoint() {
+		invalidateAll();
+	}
+
+}
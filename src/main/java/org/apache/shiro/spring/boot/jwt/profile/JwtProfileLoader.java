@@ -0,0 +1,33 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.shiro.spring.boot.jwt.profile;
+
+import java.util.Map;
+
+/**
+ * 用户 Profile 加载接口：开启主张投影后 Profile 不再写入 JSON Web Token (JWT)，需要时通过该接口加载
+ * @author 		： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+public interface JwtProfileLoader {
+
+	/**
+	 * 加载用户 Profile
+	 * @param userId 用户ID，即 JWT 的 subject
+	 * @return 用户 Profile，不存在时返回 null 或空集合
+	 */
+	Map<String, Object> loadProfile(String userId);
+
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.shiro.spring.boot.jwt.realm;
+
+import org.apache.shiro.spring.boot.jwt.authz.JwtDecisionCache;
+import org.apache.shiro.spring.boot.jwt.authz.JwtRoleHierarchy;
+import org.apache.shiro.spring.boot.jwt.authz.permission.JwtPermissionIndex;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+/**
+ * 为 {@link JwtStatelessAuthorizingRealm} 设置已启用的授权组件，Realm 中已设置的组件保持不变
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+public class JwtAuthorizingRealmPostProcessor implements BeanPostProcessor {
+
+	private final ObjectProvider<JwtPermissionIndex> permissionIndexProvider;
+	private final ObjectProvider<JwtDecisionCache> decisionCacheProvider;
+	private final ObjectProvider<JwtRoleHierarchy> roleHierarchyProvider;
+	/** 是否启用请求级授权决策备忘 */
+	private final boolean requestMemoEnabled;
+
+	public JwtAuthorizingRealmPostProcessor(ObjectProvider<JwtPermissionIndex> permissionIndexProvider,
+			ObjectProvider<JwtDecisionCache> decisionCacheProvider, ObjectProvider<JwtRoleHierarchy> roleHierarchyProvider,
+			boolean requestMemoEnabled) {
+		this.permissionIndexProvider = permissionIndexProvider;
+		this.decisionCacheProvider = decisionCacheProvider;
+		this.roleHierarchyProvider = roleHierarchyProvider;
+		this.requestMemoEnabled = requestMemoEnabled;
+	}
+
+	@Override
+	public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+		if (bean instanceof JwtStatelessAuthorizingRealm) {
+			JwtStatelessAuthorizingRealm realm = (JwtStatelessAuthorizingRealm) bean;
+			if (realm.getPermissionIndex() == null) {
+				realm.setPermissionIndex(permissionIndexProvider.getIfAvailable());
+			}
+			if (realm.getDecisionCache() == null) {
+				realm.setDecisionCache(decisionCacheProvider.getIfAvailable());
+			}
+			if (realm.getRoleHierarchy() == null) {
+				realm.setRoleHierarchy(roleHierarchyProvider.getIfAvailable());
+			}
+			if (requestMemoEnabled) {
+				realm.setRequestMemoEnabled(true);
+			}
+		}
+		return bean;
+	}
+
+}
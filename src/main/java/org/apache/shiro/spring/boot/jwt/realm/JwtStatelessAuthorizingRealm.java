@@ -1,13 +1,25 @@
 package org.apache.shiro.spring.boot.jwt.realm;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 
 import org.apache.shiro.authz.AuthorizationInfo;
-import org.apache.shiro.authz.SimpleAuthorizationInfo;
+import org.apache.shiro.authz.Permission;
+import org.apache.shiro.authz.permission.WildcardPermission;
+import org.apache.shiro.authz.permission.WildcardPermissionResolver;
 import org.apache.shiro.biz.realm.AbstractAuthorizingRealm;
 import org.apache.shiro.spring.boot.jwt.JwtPayloadPrincipal;
+import org.apache.shiro.spring.boot.jwt.authz.JwtAuthorizationInfo;
+import org.apache.shiro.spring.boot.jwt.authz.JwtDecisionCache;
+import org.apache.shiro.spring.boot.jwt.authz.JwtRequestDecisionMemo;
+import org.apache.shiro.spring.boot.jwt.authz.JwtRoleHierarchy;
+import org.apache.shiro.spring.boot.jwt.authz.permission.JwtPermissionIndex;
+import org.apache.shiro.spring.boot.jwt.authz.permission.WildcardPermissionTrie;
 import org.apache.shiro.spring.boot.jwt.token.JwtAuthorizationToken;
+import org.apache.shiro.spring.boot.jwt.trace.JwtSpan;
+import org.apache.shiro.spring.boot.jwt.trace.JwtTraceStage;
+import org.apache.shiro.spring.boot.jwt.trace.JwtTracing;
 import org.apache.shiro.subject.PrincipalCollection;
 import org.springframework.util.CollectionUtils;
 
@@ -20,6 +32,15 @@ import com.google.common.collect.Sets;
  */
 public class JwtStatelessAuthorizingRealm extends AbstractAuthorizingRealm {
 
+	/** 权限前缀树索引，为空时使用 Shiro 默认的线性匹配 */
+	private JwtPermissionIndex permissionIndex;
+	/** 是否在请求内缓存授权信息及判断结果 */
+	private boolean requestMemoEnabled = false;
+	/** 跨请求的授权决策缓存，为空时不缓存 */
+	private JwtDecisionCache decisionCache;
+	/** 角色继承关系，为空时只使用 JWT 中的角色 */
+	private JwtRoleHierarchy roleHierarchy;
+
 	@Override
 	public Class<?> getAuthenticationTokenClass() {
 		return JwtAuthorizationToken.class;// 此Realm只支持JwtToken
@@ -32,8 +53,13 @@ public class JwtStatelessAuthorizingRealm extends AbstractAuthorizingRealm {
 	protected AuthorizationInfo doGetAuthorizationInfo(PrincipalCollection principals) {
 
 		JwtPayloadPrincipal principal = (JwtPayloadPrincipal) principals.getPrimaryPrincipal();
+		// JWT 主张不可变：复用当前Realm已为该主体构建的授权信息
+		AuthorizationInfo memo = principal.getAuthorizationInfo();
+		if (memo instanceof JwtAuthorizationInfo && getName().equals(((JwtAuthorizationInfo) memo).getRealmName())) {
+			return memo;
+		}
 
-		SimpleAuthorizationInfo info = new SimpleAuthorizationInfo();
+		JwtAuthorizationInfo info = new JwtAuthorizationInfo(getName());
 		Set<String> sets = Sets.newHashSet();
 		List<RolePair> roles = principal.getRoles();
 		if(!CollectionUtils.isEmpty(roles)) {
@@ -41,11 +67,198 @@ public class JwtStatelessAuthorizingRealm extends AbstractAuthorizingRealm {
 				sets.add(role.getKey());
 			}
 		}
-		// 解析角色并设置
-		info.setRoles(sets);
-		// 解析权限并设置
-		info.setStringPermissions(principal.getPerms());
+		// 按角色继承关系展开角色及隐含权限
+		if (getRoleHierarchy() != null) {
+			JwtRoleHierarchy.Expansion expansion = getRoleHierarchy().expand(sets);
+			info.setRoles(expansion.getRoles());
+			if (CollectionUtils.isEmpty(expansion.getPermissions())) {
+				info.setStringPermissions(principal.getPerms());
+			} else {
+				Set<String> perms = Sets.newHashSet(expansion.getPermissions());
+				if (!CollectionUtils.isEmpty(principal.getPerms())) {
+					perms.addAll(principal.getPerms());
+				}
+				info.setStringPermissions(perms);
+			}
+		} else {
+			// 解析角色并设置
+			info.setRoles(sets);
+			// 解析权限并设置
+			info.setStringPermissions(principal.getPerms());
+		}
+		principal.setAuthorizationInfo(info);
 		return info;
 	}
 
+	@Override
+	protected AuthorizationInfo getAuthorizationInfo(PrincipalCollection principals) {
+		JwtRequestDecisionMemo memo = getRequestMemo(principals);
+		if (memo == null) {
+			return super.getAuthorizationInfo(principals);
+		}
+		AuthorizationInfo info = memo.getAuthorizationInfo();
+		if (info == null) {
+			info = super.getAuthorizationInfo(principals);
+			memo.setAuthorizationInfo(info);
+		}
+		return info;
+	}
+
+	@Override
+	public boolean isPermitted(PrincipalCollection principals, String permission) {
+		JwtRequestDecisionMemo memo = getRequestMemo(principals);
+		if (memo == null) {
+			return doIsPermitted(principals, permission);
+		}
+		Boolean permitted = memo.getPermitted(permission);
+		if (permitted == null) {
+			permitted = doIsPermitted(principals, permission);
+			memo.putPermitted(permission, permitted);
+		}
+		return permitted;
+	}
+
+	@Override
+	public boolean isPermitted(PrincipalCollection principals, Permission permission) {
+		// 仅缓存默认的 WildcardPermission，其字符串形式可以唯一表示该权限
+		if (permission == null || !WildcardPermission.class.equals(permission.getClass())) {
+			return super.isPermitted(principals, permission);
+		}
+		JwtRequestDecisionMemo memo = getRequestMemo(principals);
+		if (memo == null) {
+			return super.isPermitted(principals, permission);
+		}
+		Boolean permitted = memo.getPermitted(permission.toString());
+		if (permitted == null) {
+			permitted = super.isPermitted(principals, permission);
+			memo.putPermitted(permission.toString(), permitted);
+		}
+		return permitted;
+	}
+
+	@Override
+	public boolean hasRole(PrincipalCollection principals, String roleIdentifier) {
+		JwtRequestDecisionMemo memo = getRequestMemo(principals);
+		if (memo == null) {
+			return super.hasRole(principals, roleIdentifier);
+		}
+		Boolean hasRole = memo.getHasRole(roleIdentifier);
+		if (hasRole == null) {
+			hasRole = super.hasRole(principals, roleIdentifier);
+			memo.putHasRole(roleIdentifier, hasRole);
+		}
+		return hasRole;
+	}
+
+	protected JwtRequestDecisionMemo getRequestMemo(PrincipalCollection principals) {
+		return isRequestMemoEnabled() ? JwtRequestDecisionMemo.current(getName(), principals) : null;
+	}
+
+	protected boolean doIsPermitted(final PrincipalCollection principals, final String permission) {
+		final JwtSpan span = JwtTracing.start(JwtTraceStage.REALM_AUTHORIZATION);
+		try {
+			final AuthorizationInfo info = getAuthorizationInfo(principals);
+			// 对象权限无法计算指纹，不使用决策缓存
+			if (getDecisionCache() != null && info != null && CollectionUtils.isEmpty(info.getObjectPermissions())) {
+				span.setAttribute(JwtSpan.CACHE, "hit");
+				return getDecisionCache().isPermitted(info, permission, () -> {
+					span.setAttribute(JwtSpan.CACHE, "miss");
+					return evaluatePermitted(info, permission);
+				});
+			}
+			return evaluatePermitted(info, permission);
+		} finally {
+			span.end();
+		}
+	}
+
+	protected boolean evaluatePermitted(AuthorizationInfo info, String permission) {
+		if (getPermissionIndex() != null) {
+			// 直接使用权限字符串匹配，避免每次解析为 WildcardPermission
+			Boolean permitted = impliesByIndex(info, permission, isPermissionCaseSensitive());
+			if (permitted != null) {
+				return permitted;
+			}
+		}
+		// 复用已获取的授权信息，不再重新获取
+		return super.isPermitted(getPermissionResolver().resolvePermission(permission), info);
+	}
+
+	@Override
+	protected boolean isPermitted(Permission permission, AuthorizationInfo info) {
+		// 仅对默认的 WildcardPermission 使用前缀树，其他权限类型的 implies 语义可能不同；
+		// 权限对象的大小写设置无法获取，大小写敏感时回退到线性匹配
+		if (permission != null && WildcardPermission.class.equals(permission.getClass()) && !isPermissionCaseSensitive()) {
+			Boolean permitted = impliesByIndex(info, permission.toString(), false);
+			if (permitted != null) {
+				return permitted;
+			}
+		}
+		return super.isPermitted(permission, info);
+	}
+
+	/*
+	 * 通过权限前缀树判断，无法判断时返回null
+	 */
+	@SuppressWarnings("unchecked")
+	protected Boolean impliesByIndex(AuthorizationInfo info, String permission, boolean caseSensitive) {
+		if (getPermissionIndex() == null || info == null || getRolePermissionResolver() != null
+				|| getPermissionResolver() == null
+				|| !WildcardPermissionResolver.class.equals(getPermissionResolver().getClass())
+				|| !CollectionUtils.isEmpty(info.getObjectPermissions())) {
+			return null;
+		}
+		// 前缀树随授权信息缓存，只在首次判断时按权限集合查找
+		WildcardPermissionTrie trie = info instanceof JwtAuthorizationInfo ? ((JwtAuthorizationInfo) info).getPermissionTrie() : null;
+		if (trie == null || trie.isCaseSensitive() != caseSensitive) {
+			Collection<String> perms = info.getStringPermissions();
+			Set<String> permSet = (perms == null || perms instanceof Set) ? (Set<String>) perms : Sets.newHashSet(perms);
+			trie = getPermissionIndex().getTrie(permSet, caseSensitive);
+			if (info instanceof JwtAuthorizationInfo) {
+				((JwtAuthorizationInfo) info).setPermissionTrie(trie);
+			}
+		}
+		return trie.implies(permission);
+	}
+
+	/*
+	 * 与 WildcardPermissionResolver 的大小写设置保持一致
+	 */
+	protected boolean isPermissionCaseSensitive() {
+		return getPermissionResolver() instanceof WildcardPermissionResolver
+				&& ((WildcardPermissionResolver) getPermissionResolver()).isCaseSensitive();
+	}
+
+	public JwtPermissionIndex getPermissionIndex() {
+		return permissionIndex;
+	}
+
+	public void setPermissionIndex(JwtPermissionIndex permissionIndex) {
+		this.permissionIndex = permissionIndex;
+	}
+
+	public boolean isRequestMemoEnabled() {
+		return requestMemoEnabled;
+	}
+
+	public void setRequestMemoEnabled(boolean requestMemoEnabled) {
+		this.requestMemoEnabled = requestMemoEnabled;
+	}
+
+	public JwtDecisionCache getDecisionCache() {
+		return decisionCache;
+	}
+
+	public void setDecisionCache(JwtDecisionCache decisionCache) {
+		this.decisionCache = decisionCache;
+	}
+
+	public JwtRoleHierarchy getRoleHierarchy() {
+		return roleHierarchy;
+	}
+
+	public void setRoleHierarchy(JwtRoleHierarchy roleHierarchy) {
+		this.roleHierarchy = roleHierarchy;
+	}
+
 }
@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.shiro.spring.boot.jwt.revocation;
+
+import org.apache.shiro.realm.AuthenticatingRealm;
+import org.apache.shiro.spring.boot.jwt.authc.credential.JwtCredentialsMatcher;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+/**
+ * 为使用 {@link JwtCredentialsMatcher} 且未设置吊销存储的 Realm 设置 {@link MappedJwtRevocationStore}
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+public class JwtRevocationCredentialsMatcherPostProcessor implements BeanPostProcessor {
+
+	private final ObjectProvider<MappedJwtRevocationStore> revocationStoreProvider;
+
+	public JwtRevocationCredentialsMatcherPostProcessor(ObjectProvider<MappedJwtRevocationStore> revocationStoreProvider) {
+		this.revocationStoreProvider = revocationStoreProvider;
+	}
+
+	@Override
+	public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+		if (bean instanceof AuthenticatingRealm
+				&& ((AuthenticatingRealm) bean).getCredentialsMatcher() instanceof JwtCredentialsMatcher) {
+			JwtCredentialsMatcher matcher = (JwtCredentialsMatcher) ((AuthenticatingRealm) bean).getCredentialsMatcher();
+			if (matcher.getRevocationStore() == null) {
+				matcher.setRevocationStore(revocationStoreProvider.getIfAvailable());
+			}
+		}
+		return bean;
+	}
+
+}
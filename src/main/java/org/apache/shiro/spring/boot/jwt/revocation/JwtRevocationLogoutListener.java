@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.shiro.spring.boot.jwt.revocation;
+
+import org.apache.shiro.authc.AuthenticationException;
+import org.apache.shiro.authc.AuthenticationInfo;
+import org.apache.shiro.authc.AuthenticationListener;
+import org.apache.shiro.authc.AuthenticationToken;
+import org.apache.shiro.spring.boot.jwt.JwtPayloadPrincipal;
+import org.apache.shiro.subject.PrincipalCollection;
+
+import com.github.hiwepy.jwt.JwtPayload;
+
+/**
+ * 注销登录时将当前主体认证时提交的令牌（jti）写入 {@link MappedJwtRevocationStore}，
+ * 吊销至令牌过期为止，注销之后该令牌立即失效；未声明过期时间时按水位保留时间吊销
+ * @author 		： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+public class JwtRevocationLogoutListener implements AuthenticationListener {
+
+	private final MappedJwtRevocationStore revocationStore;
+
+	public JwtRevocationLogoutListener(MappedJwtRevocationStore revocationStore) {
+		this.revocationStore = revocationStore;
+	}
+
+	@Override
+	public void onSuccess(AuthenticationToken token, AuthenticationInfo info) {
+	}
+
+	@Override
+	public void onFailure(AuthenticationToken token, AuthenticationException ae) {
+	}
+
+	@Override
+	public void onLogout(PrincipalCollection principals) {
+		if (principals == null) {
+			return;
+		}
+		for (Object principal : principals) {
+			if (principal instanceof JwtPayloadPrincipal && ((JwtPayloadPrincipal) principal).getPayload() != null) {
+				JwtPayload payload = ((JwtPayloadPrincipal) principal).getPayload();
+				long expiresAt = payload.getExpiration() != null ? payload.getExpiration().getTime()
+						: System.currentTimeMillis() + revocationStore.getWatermarkTimeToLive();
+				revocationStore.revoke(payload.getTokenId(), expiresAt);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,618 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.shiro.spring.boot.jwt.revocation;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.StampedLock;
+
+import org.apache.shiro.spring.boot.jwt.crac.JwtCheckpointAware;
+import org.apache.shiro.spring.boot.jwt.invalidation.JwtInvalidationEvent;
+import org.apache.shiro.spring.boot.jwt.invalidation.JwtInvalidationListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 基于内存映射文件的令牌吊销存储：以 jti 的 64 位哈希记录已吊销的令牌（至令牌 exp 为止），
+ * 以 sub 的 64 位哈希记录主体的 "issued-before" 水位，该时刻之前签发的令牌全部失效。
+ * <p>
+ * 两张表均为开放寻址（线性探测）哈希表，槽位为 16 字节的 [key, value]，直接存放在映射文件中：
+ * 查询不分配对象、不占用堆内存，通过 {@link StampedLock} 乐观读实现无锁查询；
+ * 64 位哈希冲突只会导致极小概率的误拒绝，不会放行已吊销的令牌；
+ * 写入后的数据由操作系统回写到文件，进程重启后映射同一文件即可立即使用，无需从远程存储重建。
+ * </p>
+ * <p>
+ * 过期的条目在查询时视为不存在，由后台任务定期压缩：将有效条目写入新文件后原子替换原文件，
+ * 压缩过程中进程崩溃不会破坏原文件；装载因子超过 0.75 时以两倍容量重建。
+ * 达到最大容量且有效条目仍超过装载因子时，在退避期内直接拒绝写入并记录错误日志，不再每次写入都重建文件。
+ * </p>
+ * <p>
+ * 检查点（CRaC）之前刷新并关闭映射文件，恢复之后重新映射。
+ * </p>
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+public class MappedJwtRevocationStore implements JwtInvalidationListener, JwtCheckpointAware, Closeable {
+
+	private static final Logger LOG = LoggerFactory.getLogger(MappedJwtRevocationStore.class);
+
+	/** 默认容量（槽位数） */
+	public static final int DEFAULT_CAPACITY = 1 << 16;
+	/** 默认水位保留时间：24小时 */
+	public static final long DEFAULT_WATERMARK_TIME_TO_LIVE = 24 * 60 * 60 * 1000L;
+
+	private static final int MAGIC = 0x4A575452;
+	private static final int VERSION = 1;
+	private static final int HEADER_SIZE = 64;
+	private static final int SLOT_SIZE = 16;
+	private static final int MAGIC_OFFSET = 0;
+	private static final int VERSION_OFFSET = 4;
+	private static final int TOKEN_CAPACITY_OFFSET = 8;
+	private static final int SUBJECT_CAPACITY_OFFSET = 12;
+	private static final int TOKEN_COUNT_OFFSET = 16;
+	private static final int SUBJECT_COUNT_OFFSET = 20;
+	/** 两张表合计不能超过单个映射区域的上限（2GB） */
+	private static final int MAXIMUM_CAPACITY = 1 << 25;
+	private static final long EMPTY = 0L;
+	private static final float LOAD_FACTOR = 0.75f;
+	/** 表已满时拒绝写入的退避时间（毫秒） */
+	private static final long FULL_BACKOFF_MILLIS = 1000L;
+
+	private final File file;
+	private final StampedLock lock = new StampedLock();
+	private final ScheduledExecutorService compactor;
+	/** 水位保留时间（毫秒），不应小于令牌的最长有效期 */
+	private final long watermarkTimeToLive;
+
+	private RandomAccessFile randomAccessFile;
+	private MappedByteBuffer buffer;
+	private int tokenCapacity;
+	private int subjectCapacity;
+	private int tokenCount;
+	private int subjectCount;
+	/** 上次压缩之后是否有写入，由写锁保护 */
+	private boolean dirty;
+	/** 表已满时在此时刻之前直接拒绝写入，由写锁保护 */
+	private long fullUntil;
+
+	public MappedJwtRevocationStore(File file) {
+		this(file, DEFAULT_CAPACITY, DEFAULT_WATERMARK_TIME_TO_LIVE, 60 * 1000L);
+	}
+
+	/**
+	 * @param file 映射文件，已存在且格式正确时直接加载
+	 * @param capacity 新建文件时每张表的初始容量
+	 * @param watermarkTimeToLive 水位保留时间（毫秒）
+	 * @param compactionInterval 后台压缩间隔（毫秒），小于等于0时不启动后台压缩
+	 */
+	public MappedJwtRevocationStore(File file, int capacity, long watermarkTimeToLive, long compactionInterval) {
+		this.file = file;
+		this.watermarkTimeToLive = watermarkTimeToLive;
+		try {
+			if (!load()) {
+				int initialCapacity = tableSizeFor(capacity);
+				rebuild(initialCapacity, initialCapacity, System.currentTimeMillis());
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("Failed to open JWT revocation store " + file, e);
+		}
+		if (compactionInterval > 0) {
+			this.compactor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+				Thread thread = new Thread(runnable, "shiro-jwt-revocation-compactor");
+				thread.setDaemon(true);
+				return thread;
+			});
+			this.compactor.scheduleWithFixedDelay(this::compactQuietly, compactionInterval, compactionInterval, TimeUnit.MILLISECONDS);
+		} else {
+			this.compactor = null;
+		}
+	}
+
+	/**
+	 * 吊销令牌
+	 * @param tokenId 令牌标识（jti）
+	 * @param expiresAt 令牌过期时间（毫秒），过期后条目自动失效
+	 * @return 是否已记录，表已满或存储已关闭时返回 false
+	 */
+	public boolean revoke(String tokenId, long expiresAt) {
+		long now = System.currentTimeMillis();
+		if (tokenId == null || expiresAt <= now) {
+			return false;
+		}
+		long key = hash(tokenId);
+		long stamp = lock.writeLock();
+		try {
+			if (!isWritable() || (tokenCount + 1 > tokenCapacity * LOAD_FACTOR && !ensureCapacity(now, true))) {
+				return false;
+			}
+			if (put(HEADER_SIZE, tokenCapacity, key, expiresAt)) {
+				buffer.putInt(TOKEN_COUNT_OFFSET, ++tokenCount);
+			}
+			dirty = true;
+			return true;
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	/**
+	 * 使主体在指定时刻之前签发的令牌失效
+	 * @param subject 主体（sub）
+	 * @param issuedBefore 水位（毫秒），iat 精确到秒，水位向下取整到秒
+	 * @return 是否已记录，表已满或存储已关闭时返回 false
+	 */
+	public boolean revokeSubject(String subject, long issuedBefore) {
+		if (subject == null) {
+			return false;
+		}
+		long key = hash(subject);
+		long watermark = issuedBefore / 1000 * 1000;
+		long stamp = lock.writeLock();
+		try {
+			if (!isWritable() || (subjectCount + 1 > subjectCapacity * LOAD_FACTOR
+					&& !ensureCapacity(System.currentTimeMillis(), false))) {
+				return false;
+			}
+			if (put(subjectsOffset(tokenCapacity), subjectCapacity, key, watermark)) {
+				buffer.putInt(SUBJECT_COUNT_OFFSET, ++subjectCount);
+			}
+			dirty = true;
+			return true;
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	/**
+	 * 令牌是否已被吊销
+	 */
+	public boolean isRevoked(String tokenId) {
+		return tokenId != null && getTokenExpiration(hash(tokenId)) > System.currentTimeMillis();
+	}
+
+	/**
+	 * 获取主体的水位（毫秒），不存在或已超过保留时间时返回 0
+	 */
+	public long getWatermark(String subject) {
+		if (subject == null) {
+			return 0L;
+		}
+		long watermark = getSubjectWatermark(hash(subject));
+		return watermark >= System.currentTimeMillis() - watermarkTimeToLive ? watermark : 0L;
+	}
+
+	/**
+	 * 令牌是否已失效：jti 已吊销，或在主体水位之前签发
+	 * @param tokenId 令牌标识（jti），可为空
+	 * @param subject 主体（sub），可为空
+	 * @param issuedAt 签发时间（毫秒），未知时为 0
+	 */
+	public boolean isRevoked(String tokenId, String subject, long issuedAt) {
+		if (isRevoked(tokenId)) {
+			return true;
+		}
+		long watermark = getWatermark(subject);
+		return watermark > 0 && issuedAt < watermark;
+	}
+
+	@Override
+	public void onInvalidation(JwtInvalidationEvent event) {
+		// 角色及全局水位由 JwtValidAfterRegistry 处理，这里只持久化主体水位
+		if (event.getScope() == JwtInvalidationEvent.Scope.SUBJECT) {
+			revokeSubject(event.getTarget(), event.getIssuedBefore());
+		}
+	}
+
+	/**
+	 * 移除过期的条目并将写入刷新到磁盘；上次压缩之后没有写入时不做任何操作，
+	 * 过期条目在查询时已视为不存在，留待下次写入或扩容时清理
+	 */
+	public void compact() {
+		MappedByteBuffer written;
+		long stamp = lock.writeLock();
+		try {
+			if (!dirty || buffer == null) {
+				return;
+			}
+			long now = System.currentTimeMillis();
+			int[] live = countLive(now);
+			if (live[0] < tokenCount || live[1] < subjectCount) {
+				// 重建时已刷新新文件
+				rebuild(tokenCapacity, subjectCapacity, now);
+				dirty = false;
+				return;
+			}
+			dirty = false;
+			written = buffer;
+		} catch (IOException e) {
+			throw new UncheckedIOException("Failed to compact JWT revocation store " + file, e);
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+		// 刷新磁盘耗时较长，在锁外执行，不阻塞吊销及查询；期间被替换的旧映射刷新后同样无害
+		written.force();
+	}
+
+	public int getTokenCount() {
+		long stamp = lock.readLock();
+		try {
+			return tokenCount;
+		} finally {
+			lock.unlockRead(stamp);
+		}
+	}
+
+	public int getSubjectCount() {
+		long stamp = lock.readLock();
+		try {
+			return subjectCount;
+		} finally {
+			lock.unlockRead(stamp);
+		}
+	}
+
+	public File getFile() {
+		return file;
+	}
+
+	public long getWatermarkTimeToLive() {
+		return watermarkTimeToLive;
+	}
+
+	/**
+	 * 检查点之前刷新并关闭映射文件；关闭期间的查询视为未吊销，写入被拒绝
+	 */
+	@Override
+	public void beforeCheckpoint() {
+		long stamp = lock.writeLock();
+		try {
+			if (buffer != null) {
+				buffer.force();
+				buffer = null;
+			}
+			if (randomAccessFile != null) {
+				randomAccessFile.close();
+				randomAccessFile = null;
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("Failed to close JWT revocation store " + file, e);
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	/**
+	 * 恢复之后重新映射文件，文件不可用时以原容量重建
+	 */
+	@Override
+	public void afterRestore() {
+		long stamp = lock.writeLock();
+		try {
+			if (buffer == null && !load()) {
+				rebuild(tokenCapacity, subjectCapacity, System.currentTimeMillis());
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("Failed to reopen JWT revocation store " + file, e);
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (compactor != null) {
+			compactor.shutdownNow();
+		}
+		long stamp = lock.writeLock();
+		try {
+			if (buffer != null) {
+				buffer.force();
+			}
+			if (randomAccessFile != null) {
+				randomAccessFile.close();
+			}
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	private long getTokenExpiration(long key) {
+		long stamp = lock.tryOptimisticRead();
+		long value = find(buffer, HEADER_SIZE, tokenCapacity, key);
+		if (!lock.validate(stamp)) {
+			stamp = lock.readLock();
+			try {
+				value = find(buffer, HEADER_SIZE, tokenCapacity, key);
+			} finally {
+				lock.unlockRead(stamp);
+			}
+		}
+		return value;
+	}
+
+	private long getSubjectWatermark(long key) {
+		long stamp = lock.tryOptimisticRead();
+		long value = find(buffer, subjectsOffset(tokenCapacity), subjectCapacity, key);
+		if (!lock.validate(stamp)) {
+			stamp = lock.readLock();
+			try {
+				value = find(buffer, subjectsOffset(tokenCapacity), subjectCapacity, key);
+			} finally {
+				lock.unlockRead(stamp);
+			}
+		}
+		return value;
+	}
+
+	/*
+	 * 乐观读期间可能读到不一致的字段，越界时直接返回，由 validate 失败后加锁重读
+	 */
+	private static long find(MappedByteBuffer buffer, int offset, int capacity, long key) {
+		if (buffer == null || capacity <= 0) {
+			return 0L;
+		}
+		int mask = capacity - 1;
+		int index = indexFor(key, mask);
+		for (int i = 0; i < capacity; i++) {
+			int position = offset + ((index + i) & mask) * SLOT_SIZE;
+			if (position < 0 || position + SLOT_SIZE > buffer.capacity()) {
+				return 0L;
+			}
+			long slotKey = buffer.getLong(position);
+			if (slotKey == EMPTY) {
+				return 0L;
+			}
+			if (slotKey == key) {
+				return buffer.getLong(position + 8);
+			}
+		}
+		return 0L;
+	}
+
+	/*
+	 * 写入条目，已存在时保留较大的值；返回是否占用了新的槽位
+	 */
+	private boolean put(int offset, int capacity, long key, long value) {
+		int mask = capacity - 1;
+		int index = indexFor(key, mask);
+		for (int i = 0; i < capacity; i++) {
+			int position = offset + ((index + i) & mask) * SLOT_SIZE;
+			long slotKey = buffer.getLong(position);
+			if (slotKey == EMPTY) {
+				// 先写值再写键，崩溃时只会留下空槽位或完整的条目
+				buffer.putLong(position + 8, value);
+				buffer.putLong(position, key);
+				return true;
+			}
+			if (slotKey == key) {
+				if (value > buffer.getLong(position + 8)) {
+					buffer.putLong(position + 8, value);
+				}
+				return false;
+			}
+		}
+		throw new IllegalStateException("JWT revocation table is full.");
+	}
+
+	private boolean isWritable() {
+		if (buffer == null) {
+			LOG.warn("JWT revocation store {} is closed, entry not recorded.", file);
+			return false;
+		}
+		return true;
+	}
+
+	/*
+	 * 扩容或压缩以腾出空间；已达到最大容量且压缩后腾出的槽位不足容量的 1/16 时，重建得不偿失，
+	 * 记录错误并在退避期内直接拒绝写入，避免每次写入都扫描并重建整个文件
+	 */
+	private boolean ensureCapacity(long now, boolean tokens) {
+		if (now < fullUntil) {
+			return false;
+		}
+		int capacity = tokens ? tokenCapacity : subjectCapacity;
+		if (capacity >= MAXIMUM_CAPACITY) {
+			int[] live = countLive(now);
+			if ((tokens ? live[0] : live[1]) + (capacity >>> 4) > capacity * LOAD_FACTOR) {
+				fullUntil = now + FULL_BACKOFF_MILLIS;
+				LOG.error("JWT revocation store {} is full ({} {} slots), rejecting new entries for {} ms.", file, capacity,
+						tokens ? "token" : "subject", FULL_BACKOFF_MILLIS);
+				return false;
+			}
+		}
+		grow(now, tokens);
+		return true;
+	}
+
+	private void grow(long now, boolean tokens) {
+		try {
+			int[] live = countLive(now);
+			int newTokenCapacity = tokenCapacity;
+			int newSubjectCapacity = subjectCapacity;
+			if (tokens && live[0] + 1 > tokenCapacity * LOAD_FACTOR / 2) {
+				newTokenCapacity = Math.min(tokenCapacity << 1, MAXIMUM_CAPACITY);
+			}
+			if (!tokens && live[1] + 1 > subjectCapacity * LOAD_FACTOR / 2) {
+				newSubjectCapacity = Math.min(subjectCapacity << 1, MAXIMUM_CAPACITY);
+			}
+			rebuild(newTokenCapacity, newSubjectCapacity, now);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Failed to grow JWT revocation store " + file, e);
+		}
+	}
+
+	private int[] countLive(long now) {
+		int[] live = new int[2];
+		for (int i = 0; i < tokenCapacity; i++) {
+			int position = HEADER_SIZE + i * SLOT_SIZE;
+			if (buffer.getLong(position) != EMPTY && buffer.getLong(position + 8) > now) {
+				live[0]++;
+			}
+		}
+		long expired = now - watermarkTimeToLive;
+		int subjectsOffset = subjectsOffset(tokenCapacity);
+		for (int i = 0; i < subjectCapacity; i++) {
+			int position = subjectsOffset + i * SLOT_SIZE;
+			if (buffer.getLong(position) != EMPTY && buffer.getLong(position + 8) >= expired) {
+				live[1]++;
+			}
+		}
+		return live;
+	}
+
+	/*
+	 * 将有效条目写入临时文件后原子替换原文件，再映射新文件；
+	 * 旧的映射在被回收之前仍然有效，进行中的乐观读不会访问到已释放的内存
+	 */
+	private void rebuild(int newTokenCapacity, int newSubjectCapacity, long now) throws IOException {
+		File compacting = new File(file.getPath() + ".compact");
+		long size = subjectsOffset(newTokenCapacity) + (long) newSubjectCapacity * SLOT_SIZE;
+		RandomAccessFile target = new RandomAccessFile(compacting, "rw");
+		MappedByteBuffer previous = buffer;
+		int previousTokenCapacity = tokenCapacity;
+		int previousSubjectCapacity = subjectCapacity;
+		int newTokenCount = 0;
+		int newSubjectCount = 0;
+		try {
+			target.setLength(0);
+			target.setLength(size);
+			buffer = target.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, size);
+			tokenCapacity = newTokenCapacity;
+			subjectCapacity = newSubjectCapacity;
+			if (previous != null) {
+				for (int i = 0; i < previousTokenCapacity; i++) {
+					int position = HEADER_SIZE + i * SLOT_SIZE;
+					long key = previous.getLong(position);
+					long value = previous.getLong(position + 8);
+					if (key != EMPTY && value > now && put(HEADER_SIZE, newTokenCapacity, key, value)) {
+						newTokenCount++;
+					}
+				}
+				long expired = now - watermarkTimeToLive;
+				int previousSubjectsOffset = subjectsOffset(previousTokenCapacity);
+				int subjectsOffset = subjectsOffset(newTokenCapacity);
+				for (int i = 0; i < previousSubjectCapacity; i++) {
+					int position = previousSubjectsOffset + i * SLOT_SIZE;
+					long key = previous.getLong(position);
+					long value = previous.getLong(position + 8);
+					if (key != EMPTY && value >= expired && put(subjectsOffset, newSubjectCapacity, key, value)) {
+						newSubjectCount++;
+					}
+				}
+			}
+			buffer.putInt(VERSION_OFFSET, VERSION);
+			buffer.putInt(TOKEN_CAPACITY_OFFSET, newTokenCapacity);
+			buffer.putInt(SUBJECT_CAPACITY_OFFSET, newSubjectCapacity);
+			buffer.putInt(TOKEN_COUNT_OFFSET, newTokenCount);
+			buffer.putInt(SUBJECT_COUNT_OFFSET, newSubjectCount);
+			// 最后写入魔数，未完成的文件无法被加载
+			buffer.putInt(MAGIC_OFFSET, MAGIC);
+			buffer.force();
+		} catch (IOException | RuntimeException e) {
+			buffer = previous;
+			tokenCapacity = previousTokenCapacity;
+			subjectCapacity = previousSubjectCapacity;
+			target.close();
+			throw e;
+		}
+		Files.move(compacting.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		if (randomAccessFile != null) {
+			randomAccessFile.close();
+		}
+		randomAccessFile = target;
+		tokenCount = newTokenCount;
+		subjectCount = newSubjectCount;
+	}
+
+	/*
+	 * 加载已存在的文件，文件不存在或格式不正确时返回 false
+	 */
+	private boolean load() throws IOException {
+		if (!file.isFile() || file.length() < HEADER_SIZE) {
+			return false;
+		}
+		RandomAccessFile source = new RandomAccessFile(file, "rw");
+		MappedByteBuffer mapped = source.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, source.length());
+		int storedTokenCapacity = mapped.getInt(TOKEN_CAPACITY_OFFSET);
+		int storedSubjectCapacity = mapped.getInt(SUBJECT_CAPACITY_OFFSET);
+		if (mapped.getInt(MAGIC_OFFSET) != MAGIC || mapped.getInt(VERSION_OFFSET) != VERSION
+				|| !isPowerOfTwo(storedTokenCapacity) || !isPowerOfTwo(storedSubjectCapacity)
+				|| subjectsOffset(storedTokenCapacity) + (long) storedSubjectCapacity * SLOT_SIZE != source.length()) {
+			source.close();
+			LOG.warn("Ignoring incompatible JWT revocation store {}.", file);
+			return false;
+		}
+		randomAccessFile = source;
+		buffer = mapped;
+		tokenCapacity = storedTokenCapacity;
+		subjectCapacity = storedSubjectCapacity;
+		tokenCount = mapped.getInt(TOKEN_COUNT_OFFSET);
+		subjectCount = mapped.getInt(SUBJECT_COUNT_OFFSET);
+		return true;
+	}
+
+	private void compactQuietly() {
+		try {
+			compact();
+		} catch (RuntimeException e) {
+			LOG.error("JWT revocation store compaction failed: {}", e.getMessage());
+		}
+	}
+
+	private static int subjectsOffset(int tokenCapacity) {
+		return HEADER_SIZE + tokenCapacity * SLOT_SIZE;
+	}
+
+	private static int indexFor(long key, int mask) {
+		return (int) (key ^ (key >>> 32)) & mask;
+	}
+
+	/*
+	 * FNV-1a 64 位哈希并做最终混淆，逐字符计算，不分配任何对象
+	 */
+	private static long hash(String value) {
+		long hash = 0xcbf29ce484222325L;
+		for (int i = 0; i < value.length(); i++) {
+			hash ^= value.charAt(i);
+			hash *= 0x100000001b3L;
+		}
+		hash ^= hash >>> 33;
+		hash *= 0xff51afd7ed558ccdL;
+		hash ^= hash >>> 33;
+		hash *= 0xc4ceb9fe1a85ec53L;
+		hash ^= hash >>> 33;
+		return hash == EMPTY ? 1L : hash;
+	}
+
+	private static boolean isPowerOfTwo(int value) {
+		return value > 0 && (value & (value - 1)) == 0;
+	}
+
+	private static int tableSizeFor(int capacity) {
+		int size = Integer.highestOneBit(Math.max(capacity, 16) - 1) << 1;
+		return Math.min(size, MAXIMUM_CAPACITY);
+	}
+
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.shiro.spring.boot.jwt.token;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.shiro.spring.boot.jwt.crac.JwtCheckpointAware;
+
+import com.github.hiwepy.jwt.JwtPayload;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * 基于内存的引用令牌存储，过期的引用在访问时或定期清理时移除；
+ * 引用数量达到上限时按最近最少使用淘汰，被淘汰引用的客户端需要重新登录
+ * @author 		： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+public class InMemoryJwtReferenceTokenStore implements JwtReferenceTokenStore, JwtCheckpointAware {
+
+	/** 默认有效期：30分钟 */
+	public static final long DEFAULT_TIME_TO_LIVE = 30 * 60 * 1000L;
+	/** 每保存多少个引用执行一次过期清理 */
+	private static final int PURGE_INTERVAL = 1024;
+	private static final int REFERENCE_BYTES = 32;
+	/** 默认最多保存的引用数量 */
+	public static final long DEFAULT_MAXIMUM_SIZE = 100000;
+
+	private final Cache<String, JwtReferenceToken> tokens;
+	private final AtomicInteger saveCount = new AtomicInteger();
+	private volatile SecureRandom random = new SecureRandom();
+	private final Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+	/** 载荷未声明过期时间时使用的有效期（毫秒） */
+	private long timeToLive = DEFAULT_TIME_TO_LIVE;
+
+	public InMemoryJwtReferenceTokenStore() {
+		this(DEFAULT_TIME_TO_LIVE);
+	}
+
+	public InMemoryJwtReferenceTokenStore(long timeToLive) {
+		this(timeToLive, DEFAULT_MAXIMUM_SIZE);
+	}
+
+	public InMemoryJwtReferenceTokenStore(long timeToLive, long maximumSize) {
+		this.timeToLive = timeToLive;
+		this.tokens = CacheBuilder.newBuilder().maximumSize(maximumSize).build();
+	}
+
+	@Override
+	public String save(String token, JwtPayload payload) {
+		long now = System.currentTimeMillis();
+		long expiresAt = payload != null && payload.getExpiration() != null ? payload.getExpiration().getTime() : now + getTimeToLive();
+		String reference = nextReference();
+		tokens.put(reference, new JwtReferenceToken(reference, token, payload, expiresAt));
+		if (saveCount.incrementAndGet() % PURGE_INTERVAL == 0) {
+			purge(now);
+		}
+		return reference;
+	}
+
+	@Override
+	public JwtReferenceToken get(String reference) {
+		if (reference == null) {
+			return null;
+		}
+		JwtReferenceToken referenceToken = tokens.getIfPresent(reference);
+		if (referenceToken != null && referenceToken.isExpired(System.currentTimeMillis())) {
+			tokens.asMap().remove(reference, referenceToken);
+		}
+		return referenceToken;
+	}
+
+	@Override
+	public void remove(String reference) {
+		if (reference != null) {
+			tokens.invalidate(reference);
+		}
+	}
+
+	/**
+	 * 移除所有已过期的引用令牌
+	 * @param now 当前时间（毫秒）
+	 */
+	public void purge(long now) {
+		Iterator<JwtReferenceToken> ite = tokens.asMap().values().iterator();
+		while (ite.hasNext()) {
+			if (ite.next().isExpired(now)) {
+				ite.remove();
+			}
+		}
+	}
+
+	public long size() {
+		return tokens.size();
+	}
+
+	protected String nextReference() {
+		byte[] bytes = new byte[REFERENCE_BYTES];
+		random.nextBytes(bytes);
+		return encoder.encodeToString(bytes);
+	}
+
+	public long getTimeToLive() {
+		return timeToLive;
+	}
+
+	public void setTimeToLive(long timeToLive) {
+		this.timeToLive = timeToLive;
+	}
+
+	/**
+	 * 检查点之前清空引用令牌，避免载荷及令牌被写入检查点镜像
+	 */
+	@Override
+	public void beforeCheckpoint() {
+		tokens.invalidateAll();
+	}
+
+	/**
+	 * 恢复之后重建随机数生成器，避免从同一镜像恢复的实例生成相同的引用
+	 */
+	@Override
+	public void afterRestore() {
+		random = new SecureRandom();
+	}
+
+}
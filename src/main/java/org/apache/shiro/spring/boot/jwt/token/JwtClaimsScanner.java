@@ -0,0 +1,285 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.shiro.spring.boot.jwt.token;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * JSON Web Token (JWT) 主张扫描器：不做完整的JSON解析，也不验证签名，
+ * 仅从 Base64URL 解码后的 header/payload 中读取顶层的数字或字符串主张，用于签名验证之前的廉价预检。
+ * <p>
+ * 扫描结果未经验证，只能用于拒绝请求或路由，不能作为授权依据。
+ * </p>
+ * @author 		： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+public final class JwtClaimsScanner {
+
+	/** 主张不存在或格式不正确 */
+	public static final long ABSENT = Long.MIN_VALUE;
+
+	private static final int HEADER_SEGMENT = 0;
+	private static final int PAYLOAD_SEGMENT = 1;
+
+	private JwtClaimsScanner() {
+	}
+
+	/**
+	 * 解码JWT的header部分
+	 * @param token JSON Web Token (JWT)
+	 * @return 格式不正确时返回 null
+	 */
+	public static byte[] decodeHeader(String token) {
+		return decodeSegment(token, HEADER_SEGMENT);
+	}
+
+	/**
+	 * 解码JWT的payload部分
+	 * @param token JSON Web Token (JWT)
+	 * @return 格式不正确时返回 null
+	 */
+	public static byte[] decodePayload(String token) {
+		return decodeSegment(token, PAYLOAD_SEGMENT);
+	}
+
+	/**
+	 * 读取顶层数字主张的整数部分，如 exp、nbf、iat
+	 * @param json 解码后的JSON
+	 * @param name 主张名称
+	 * @return 不存在时返回 {@link #ABSENT}
+	 */
+	public static long scanNumber(byte[] json, String name) {
+		int i = findValue(json, name);
+		if (i < 0) {
+			return ABSENT;
+		}
+		boolean negative = false;
+		if (json[i] == '-') {
+			negative = true;
+			i++;
+		}
+		long value = 0;
+		int digits = 0;
+		while (i < json.length && json[i] >= '0' && json[i] <= '9') {
+			// 超过18位的数字不是合法的时间戳
+			if (++digits > 18) {
+				return ABSENT;
+			}
+			value = value * 10 + (json[i++] - '0');
+		}
+		if (digits == 0) {
+			return ABSENT;
+		}
+		return negative ? -value : value;
+	}
+
+	/**
+	 * 读取顶层字符串主张，如 iss、kid
+	 * @param json 解码后的JSON
+	 * @param name 主张名称
+	 * @return 不存在或不是字符串时返回 null
+	 */
+	public static String scanString(byte[] json, String name) {
+		int i = findValue(json, name);
+		if (i < 0 || json[i] != '"') {
+			return null;
+		}
+		StringBuilder builder = null;
+		int start = ++i;
+		while (i < json.length) {
+			byte b = json[i];
+			if (b == '"') {
+				if (builder == null) {
+					return new String(json, start, i - start, StandardCharsets.UTF_8);
+				}
+				builder.append(new String(json, start, i - start, StandardCharsets.UTF_8));
+				return builder.toString();
+			}
+			if (b == '\\') {
+				if (builder == null) {
+					builder = new StringBuilder();
+				}
+				builder.append(new String(json, start, i - start, StandardCharsets.UTF_8));
+				if (++i >= json.length) {
+					return null;
+				}
+				switch (json[i]) {
+					case 'b': builder.append('\b'); break;
+					case 'f': builder.append('\f'); break;
+					case 'n': builder.append('\n'); break;
+					case 'r': builder.append('\r'); break;
+					case 't': builder.append('\t'); break;
+					case 'u':
+						if (i + 4 >= json.length) {
+							return null;
+						}
+						try {
+							builder.append((char) Integer.parseInt(new String(json, i + 1, 4, StandardCharsets.US_ASCII), 16));
+						} catch (NumberFormatException e) {
+							return null;
+						}
+						i += 4;
+						break;
+					default: builder.append((char) json[i]); break;
+				}
+				start = i + 1;
+			}
+			i++;
+		}
+		return null;
+	}
+
+	private static byte[] decodeSegment(String token, int segment) {
+		if (token == null) {
+			return null;
+		}
+		int start = 0;
+		for (int i = 0; i < segment; i++) {
+			start = token.indexOf('.', start) + 1;
+			if (start == 0) {
+				return null;
+			}
+		}
+		int end = token.indexOf('.', start);
+		if (end < 0 || end == start) {
+			return null;
+		}
+		try {
+			return Base64.getUrlDecoder().decode(token.substring(start, end));
+		} catch (IllegalArgumentException e) {
+			return null;
+		}
+	}
+
+	/*
+	 * 查找顶层主张值的起始位置，不存在时返回-1
+	 */
+	private static int findValue(byte[] json, String name) {
+		if (json == null) {
+			return -1;
+		}
+		byte[] key = name.getBytes(StandardCharsets.UTF_8);
+		int i = skipWhitespace(json, 0);
+		if (i >= json.length || json[i] != '{') {
+			return -1;
+		}
+		i++;
+		while (true) {
+			i = skipWhitespace(json, i);
+			if (i >= json.length || json[i] == '}') {
+				return -1;
+			}
+			if (json[i] == ',') {
+				i++;
+				continue;
+			}
+			if (json[i] != '"') {
+				return -1;
+			}
+			int keyStart = i + 1;
+			int keyEnd = skipString(json, i);
+			if (keyEnd < 0) {
+				return -1;
+			}
+			i = skipWhitespace(json, keyEnd);
+			if (i >= json.length || json[i] != ':') {
+				return -1;
+			}
+			i = skipWhitespace(json, i + 1);
+			if (i >= json.length) {
+				return -1;
+			}
+			if (regionMatches(json, keyStart, keyEnd - 1, key)) {
+				return i;
+			}
+			i = skipValue(json, i);
+			if (i < 0) {
+				return -1;
+			}
+		}
+	}
+
+	private static boolean regionMatches(byte[] json, int start, int end, byte[] key) {
+		if (end - start != key.length) {
+			return false;
+		}
+		for (int i = 0; i < key.length; i++) {
+			if (json[start + i] != key[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/*
+	 * 跳过字符串，返回结束引号之后的位置
+	 */
+	private static int skipString(byte[] json, int i) {
+		i++;
+		while (i < json.length) {
+			if (json[i] == '\\') {
+				i += 2;
+				continue;
+			}
+			if (json[i] == '"') {
+				return i + 1;
+			}
+			i++;
+		}
+		return -1;
+	}
+
+	private static int skipValue(byte[] json, int i) {
+		byte b = json[i];
+		if (b == '"') {
+			return skipString(json, i);
+		}
+		if (b == '{' || b == '[') {
+			int depth = 0;
+			while (i < json.length) {
+				b = json[i];
+				if (b == '"') {
+					i = skipString(json, i);
+					if (i < 0) {
+						return -1;
+					}
+					continue;
+				}
+				if (b == '{' || b == '[') {
+					depth++;
+				} else if (b == '}' || b == ']') {
+					if (--depth == 0) {
+						return i + 1;
+					}
+				}
+				i++;
+			}
+			return -1;
+		}
+		while (i < json.length && json[i] != ',' && json[i] != '}') {
+			i++;
+		}
+		return i;
+	}
+
+	private static int skipWhitespace(byte[] json, int i) {
+		while (i < json.length && (json[i] == ' ' || json[i] == '\t' || json[i] == '\n' || json[i] == '\r')) {
+			i++;
+		}
+		return i;
+	}
+
+}
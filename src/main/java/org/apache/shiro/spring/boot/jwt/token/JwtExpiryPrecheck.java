@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.shiro.spring.boot.jwt.token;
+
+import org.apache.shiro.authc.AuthenticationException;
+import org.apache.shiro.spring.boot.jwt.exception.ExpiredJwtException;
+import org.apache.shiro.spring.boot.jwt.exception.InvalidJwtToken;
+
+/**
+ * JSON Web Token (JWT) 有效期预检：在签名验证之前仅读取 exp/nbf/iat 主张，
+ * 直接拒绝已过期或尚未生效的令牌，避免为注定失败的令牌执行解码和加密运算。
+ * <p>
+ * 预检只会拒绝令牌，通过预检的令牌仍需完成完整的签名验证；格式不正确的令牌交由后续验证处理。
+ * 完整验证不检查 iat，因此仅在配置了时钟偏差时拒绝签发时间晚于当前时间的令牌，
+ * 避免签发节点与验证节点之间正常的时钟漂移导致有效令牌被拒绝。
+ * </p>
+ * @author 		： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+public class JwtExpiryPrecheck {
+
+	/** 允许的时钟偏差（秒） */
+	private long allowedClockSkew = 0;
+
+	public JwtExpiryPrecheck() {
+	}
+
+	public JwtExpiryPrecheck(long allowedClockSkew) {
+		this.allowedClockSkew = allowedClockSkew;
+	}
+
+	public void check(String token) throws AuthenticationException {
+		byte[] payload = JwtClaimsScanner.decodePayload(token);
+		if (payload == null) {
+			return;
+		}
+		long now = System.currentTimeMillis();
+		long skew = allowedClockSkew * 1000;
+		long exp = JwtClaimsScanner.scanNumber(payload, "exp");
+		if (exp != JwtClaimsScanner.ABSENT && now - skew > exp * 1000) {
+			throw new ExpiredJwtException("JWT expired at " + exp + ".");
+		}
+		long nbf = JwtClaimsScanner.scanNumber(payload, "nbf");
+		if (nbf != JwtClaimsScanner.ABSENT && now + skew < nbf * 1000) {
+			throw new InvalidJwtToken("JWT must not be accepted before " + nbf + ".");
+		}
+		if (skew <= 0) {
+			return;
+		}
+		long iat = JwtClaimsScanner.scanNumber(payload, "iat");
+		if (iat != JwtClaimsScanner.ABSENT && now + skew < iat * 1000) {
+			throw new InvalidJwtToken("JWT issued in the future at " + iat + ".");
+		}
+	}
+
+	public long getAllowedClockSkew() {
+		return allowedClockSkew;
+	}
+
+	public void setAllowedClockSkew(long allowedClockSkew) {
+		this.allowedClockSkew = allowedClockSkew;
+	}
+
+}
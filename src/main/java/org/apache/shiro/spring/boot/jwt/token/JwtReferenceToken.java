@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.shiro.spring.boot.jwt.token;
+
+import com.github.hiwepy.jwt.JwtPayload;
+
+/**
+ * 引用令牌（Reference Token）：服务端保存的完整 JSON Web Token (JWT) 及其已验证的载荷
+ * @author 		： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+public class JwtReferenceToken {
+
+	// 引用令牌
+	private final String reference;
+	// 完整的 JSON Web Token (JWT)
+	private final String token;
+	// 签发时已验证的载荷
+	private final JwtPayload payload;
+	// 过期时间（毫秒）
+	private final long expiresAt;
+
+	public JwtReferenceToken(String reference, String token, JwtPayload payload, long expiresAt) {
+		this.reference = reference;
+		this.token = token;
+		this.payload = payload;
+		this.expiresAt = expiresAt;
+	}
+
+	public boolean isExpired(long now) {
+		return expiresAt <= now;
+	}
+
+	public String getReference() {
+		return reference;
+	}
+
+	public String getToken() {
+		return token;
+	}
+
+	public JwtPayload getPayload() {
+		return payload;
+	}
+
+	public long getExpiresAt() {
+		return expiresAt;
+	}
+
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.shiro.spring.boot.jwt.token;
+
+import org.apache.shiro.authc.AuthenticationException;
+import org.apache.shiro.authc.AuthenticationInfo;
+import org.apache.shiro.authc.AuthenticationListener;
+import org.apache.shiro.authc.AuthenticationToken;
+import org.apache.shiro.spring.boot.jwt.JwtPayloadPrincipal;
+import org.apache.shiro.subject.PrincipalCollection;
+
+/**
+ * 注销登录时从 {@link JwtReferenceTokenStore} 中删除当前主体认证时提交的引用令牌，
+ * 注销之后该引用立即失效，而不是等到过期
+ * @author 		： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+public class JwtReferenceTokenLogoutListener implements AuthenticationListener {
+
+	private final JwtReferenceTokenStore referenceTokenStore;
+
+	public JwtReferenceTokenLogoutListener(JwtReferenceTokenStore referenceTokenStore) {
+		this.referenceTokenStore = referenceTokenStore;
+	}
+
+	@Override
+	public void onSuccess(AuthenticationToken token, AuthenticationInfo info) {
+	}
+
+	@Override
+	public void onFailure(AuthenticationToken token, AuthenticationException ae) {
+	}
+
+	@Override
+	public void onLogout(PrincipalCollection principals) {
+		if (principals == null) {
+			return;
+		}
+		for (Object principal : principals) {
+			if (principal instanceof JwtPayloadPrincipal && ((JwtPayloadPrincipal) principal).getReference() != null) {
+				referenceTokenStore.remove(((JwtPayloadPrincipal) principal).getReference());
+			}
+		}
+	}
+
+}
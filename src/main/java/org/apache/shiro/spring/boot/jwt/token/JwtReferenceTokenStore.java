@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.shiro.spring.boot.jwt.token;
+
+import com.github.hiwepy.jwt.JwtPayload;
+
+/**
+ * 引用令牌存储：登录成功后仅向客户端返回简短的不透明引用，完整的 JSON Web Token (JWT) 保存在服务端
+ * @author 		： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+public interface JwtReferenceTokenStore {
+
+	/**
+	 * 保存已签发的 JSON Web Token (JWT)
+	 * @param token 完整的 JSON Web Token (JWT)
+	 * @param payload 已验证的载荷
+	 * @return 引用令牌
+	 */
+	String save(String token, JwtPayload payload);
+
+	/**
+	 * 根据引用令牌获取服务端保存的 JSON Web Token (JWT)
+	 * @param reference 引用令牌
+	 * @return 不存在时返回 null；已过期的引用仍会返回一次，由调用方通过 {@link JwtReferenceToken#isExpired(long)} 判断
+	 */
+	JwtReferenceToken get(String reference);
+
+	/**
+	 * 删除引用令牌，如注销登录
+	 * @param reference 引用令牌
+	 */
+	void remove(String reference);
+
+	/**
+	 * 判断是否引用令牌：JSON Web Token (JWT) 由 . 分隔，引用令牌不包含 .
+	 * @param token 客户端提交的令牌
+	 * @return true/false
+	 */
+	default boolean isReference(String token) {
+		return token != null && token.length() > 0 && token.indexOf('.') < 0;
+	}
+
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.shiro.spring.boot.jwt.trace;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.shiro.spring.boot.jwt.exception.JwtFailureReason;
+
+/**
+ * 组合多个追踪实现（如 OpenTelemetry 与 JFR），各实现返回 {@link JwtSpan#NOOP} 时不参与组合
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+public class CompositeJwtTracer implements JwtTracer {
+
+	private final JwtTracer[] tracers;
+
+	public CompositeJwtTracer(List<? extends JwtTracer> tracers) {
+		this.tracers = tracers.toArray(new JwtTracer[0]);
+	}
+
+	/**
+	 * 按数量返回合适的追踪实现
+	 */
+	public static JwtTracer of(List<? extends JwtTracer> tracers) {
+		if (tracers == null || tracers.isEmpty()) {
+			return JwtTracer.NOOP;
+		}
+		return tracers.size() == 1 ? tracers.get(0) : new CompositeJwtTracer(tracers);
+	}
+
+	@Override
+	public JwtSpan start(JwtTraceStage stage) {
+		JwtSpan first = JwtSpan.NOOP;
+		List<JwtSpan> spans = null;
+		for (JwtTracer tracer : tracers) {
+			JwtSpan span = tracer.start(stage);
+			if (span == JwtSpan.NOOP) {
+				continue;
+			}
+			if (first == JwtSpan.NOOP) {
+				first = span;
+			} else {
+				if (spans == null) {
+					spans = new ArrayList<JwtSpan>(tracers.length);
+					spans.add(first);
+				}
+				spans.add(span);
+			}
+		}
+		return spans == null ? first : new CompositeSpan(spans);
+	}
+
+	private static final class CompositeSpan implements JwtSpan {
+
+		private final List<JwtSpan> spans;
+
+		private CompositeSpan(List<JwtSpan> spans) {
+			this.spans = spans;
+		}
+
+		@Override
+		public JwtSpan setAttribute(String key, String value) {
+			for (JwtSpan span : spans) {
+				span.setAttribute(key, value);
+			}
+			return this;
+		}
+
+		@Override
+		public JwtSpan setAttribute(String key, long value) {
+			for (JwtSpan span : spans) {
+				span.setAttribute(key, value);
+			}
+			return this;
+		}
+
+		@Override
+		public JwtSpan recordFailure(JwtFailureReason reason) {
+			for (JwtSpan span : spans) {
+				span.recordFailure(reason);
+			}
+			return this;
+		}
+
+		@Override
+		public void end() {
+			for (JwtSpan span : spans) {
+				span.end();
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.shiro.spring.boot.jwt.trace;
+
+import org.apache.shiro.spring.boot.jwt.exception.JwtFailureReason;
+
+/**
+ * 追踪片段，由 {@link JwtTracer#start(JwtTraceStage)} 创建，调用方必须在 finally 中调用 {@link #end()}
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+public interface JwtSpan {
+
+	/** Token 长度 */
+	String TOKEN_SIZE = "jwt.token.size";
+	/** 角色主张数量 */
+	String ROLE_COUNT = "jwt.claims.roles";
+	/** 权限主张数量 */
+	String PERMISSION_COUNT = "jwt.claims.perms";
+	/** 缓存命中情况：hit / miss */
+	String CACHE = "jwt.cache";
+	/** 失败原因 */
+	String FAILURE = "jwt.failure";
+
+	/** 不做任何事情的片段，未开启追踪时使用 */
+	JwtSpan NOOP = new JwtSpan() {
+
+		@Override
+		public JwtSpan setAttribute(String key, String value) {
+			return this;
+		}
+
+		@Override
+		public JwtSpan setAttribute(String key, long value) {
+			return this;
+		}
+
+		@Override
+		public JwtSpan recordFailure(JwtFailureReason reason) {
+			return this;
+		}
+
+		@Override
+		public void end() {
+		}
+
+	};
+
+	JwtSpan setAttribute(String key, String value);
+
+	JwtSpan setAttribute(String key, long value);
+
+	/**
+	 * 记录失败原因
+	 */
+	JwtSpan recordFailure(JwtFailureReason reason);
+
+	void end();
+
+}
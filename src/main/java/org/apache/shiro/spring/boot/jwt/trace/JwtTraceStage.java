@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.shiro.spring.boot.jwt.trace;
+
+/**
+ * JWT 认证授权流程中被追踪的阶段
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+public enum JwtTraceStage {
+
+	/** 从请求中提取 Token */
+	TOKEN_RESOLUTION("shiro.jwt.token_resolution"),
+	/** 解析 Token 载荷 */
+	PAYLOAD_DECODE("shiro.jwt.payload_decode"),
+	/** 校验 Token 签名及有效期 */
+	SIGNATURE_VERIFY("shiro.jwt.signature_verify"),
+	/** Realm 授权判断 */
+	REALM_AUTHORIZATION("shiro.jwt.realm_authorization"),
+	/** 输出认证失败响应 */
+	FAILURE_RESPONSE("shiro.jwt.failure_response");
+
+	private final String spanName;
+
+	private JwtTraceStage(String spanName) {
+		this.spanName = spanName;
+	}
+
+	public String getSpanName() {
+		return spanName;
+	}
+
+}
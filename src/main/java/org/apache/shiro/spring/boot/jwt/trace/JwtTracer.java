@@ -0,0 +1,33 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.shiro.spring.boot.jwt.trace;
+
+/**
+ * 追踪 SPI
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+public interface JwtTracer {
+
+	JwtTracer NOOP = stage -> JwtSpan.NOOP;
+
+	/**
+	 * 开始一个阶段的追踪片段
+	 * @param stage 阶段
+	 * @return 追踪片段，未采样时应返回 {@link JwtSpan#NOOP}
+	 */
+	JwtSpan start(JwtTraceStage stage);
+
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.shiro.spring.boot.jwt.trace;
+
+/**
+ * 全局追踪入口：过滤器、Realm 等非 Spring 管理的对象通过此类获取当前的 {@link JwtTracer}，
+ * 默认为 {@link JwtTracer#NOOP}，开销仅为一次 volatile 读取。
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+public final class JwtTracing {
+
+	private static volatile JwtTracer tracer = JwtTracer.NOOP;
+
+	private JwtTracing() {
+	}
+
+	public static JwtSpan start(JwtTraceStage stage) {
+		return tracer.start(stage);
+	}
+
+	public static JwtTracer getTracer() {
+		return tracer;
+	}
+
+	public static void setTracer(JwtTracer tracer) {
+		JwtTracing.tracer = tracer == null ? JwtTracer.NOOP : tracer;
+	}
+
+}
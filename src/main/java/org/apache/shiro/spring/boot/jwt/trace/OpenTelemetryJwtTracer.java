@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.shiro.spring.boot.jwt.trace;
+
+import org.apache.shiro.spring.boot.jwt.exception.JwtFailureReason;
+
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
+
+/**
+ * 基于 OpenTelemetry 的追踪实现。
+ * <p>
+ * 默认只在当前存在已采样的父片段（如 HTTP 服务端片段）时创建子片段，未采样的请求直接返回 {@link JwtSpan#NOOP}，
+ * 采样率由 OpenTelemetry SDK 的 Sampler 统一控制。
+ * 片段在结束之前为当前片段，嵌套的阶段及阶段内的其他追踪（如加载 Profile 的远程调用）成为其子片段；
+ * 调用方在同一线程的 finally 中调用 {@link JwtSpan#end()} 即可保证作用域按顺序关闭。
+ * </p>
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+public class OpenTelemetryJwtTracer implements JwtTracer {
+
+	public static final String INSTRUMENTATION_NAME = "shiro-jwt-spring-boot-starter";
+
+	private final Tracer tracer;
+	/** 是否要求存在已采样的父片段 */
+	private boolean parentRequired = true;
+
+	public OpenTelemetryJwtTracer(OpenTelemetry openTelemetry) {
+		this.tracer = openTelemetry.getTracer(INSTRUMENTATION_NAME);
+	}
+
+	@Override
+	public JwtSpan start(JwtTraceStage stage) {
+		if (parentRequired && !Span.current().getSpanContext().isSampled()) {
+			return JwtSpan.NOOP;
+		}
+		Span span = tracer.spanBuilder(stage.getSpanName()).startSpan();
+		if (!span.isRecording()) {
+			span.end();
+			return JwtSpan.NOOP;
+		}
+		return new OpenTelemetrySpan(span, span.makeCurrent());
+	}
+
+	public boolean isParentRequired() {
+		return parentRequired;
+	}
+
+	public void setParentRequired(boolean parentRequired) {
+		this.parentRequired = parentRequired;
+	}
+
+	private static final class OpenTelemetrySpan implements JwtSpan {
+
+		private final Span span;
+		private final Scope scope;
+
+		private OpenTelemetrySpan(Span span, Scope scope) {
+			this.span = span;
+			this.scope = scope;
+		}
+
+		@Override
+		public JwtSpan setAttribute(String key, String value) {
+			span.setAttribute(key, value);
+			return this;
+		}
+
+		@Override
+		public JwtSpan setAttribute(String key, long value) {
+			span.setAttribute(key, value);
+			return this;
+		}
+
+		@Override
+		public JwtSpan recordFailure(JwtFailureReason reason) {
+			span.setAttribute(FAILURE, reason.name());
+			span.setStatus(StatusCode.ERROR, reason.name());
+			return this;
+		}
+
+		@Override
+		public void end() {
+			scope.close();
+			span.end();
+		}
+
+	}
+
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.shiro.spring.boot.jwt.trace.jfr;
+
+import org.apache.shiro.spring.boot.jwt.exception.JwtFailureReason;
+import org.apache.shiro.spring.boot.jwt.trace.JwtSpan;
+import org.apache.shiro.spring.boot.jwt.trace.JwtTraceStage;
+import org.apache.shiro.spring.boot.jwt.trace.JwtTracer;
+
+/**
+ * 基于 Java Flight Recorder 的追踪实现：每个阶段对应一个自定义 JFR 事件，
+ * 事件默认关闭，未开启录制时只创建事件对象并检查一次开关。
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+public class JfrJwtTracer implements JwtTracer {
+
+	@Override
+	public JwtSpan start(JwtTraceStage stage) {
+		JwtStageEvent event = newEvent(stage);
+		if (!event.isEnabled()) {
+			return JwtSpan.NOOP;
+		}
+		event.begin();
+		return new JfrSpan(event);
+	}
+
+	protected JwtStageEvent newEvent(JwtTraceStage stage) {
+		switch (stage) {
+		case TOKEN_RESOLUTION:
+			return new TokenResolutionEvent();
+		case PAYLOAD_DECODE:
+			return new PayloadDecodeEvent();
+		case SIGNATURE_VERIFY:
+			return new SignatureVerifyEvent();
+		case REALM_AUTHORIZATION:
+			return new RealmAuthorizationEvent();
+		default:
+			return new FailureResponseEvent();
+		}
+	}
+
+	private static final class JfrSpan implements JwtSpan {
+
+		private final JwtStageEvent event;
+
+		private JfrSpan(JwtStageEvent event) {
+			this.event = event;
+		}
+
+		@Override
+		public JwtSpan setAttribute(String key, String value) {
+			if (CACHE.equals(key)) {
+				event.cache = value;
+			} else if (FAILURE.equals(key)) {
+				event.failure = value;
+			}
+			return this;
+		}
+
+		@Override
+		public JwtSpan setAttribute(String key, long value) {
+			if (TOKEN_SIZE.equals(key)) {
+				event.tokenSize = value;
+			} else if (ROLE_COUNT.equals(key)) {
+				event.roleCount = value;
+			} else if (PERMISSION_COUNT.equals(key)) {
+				event.permissionCount = value;
+			}
+			return this;
+		}
+
+		@Override
+		public JwtSpan recordFailure(JwtFailureReason reason) {
+			event.failure = reason.name();
+			return this;
+		}
+
+		@Override
+		public void end() {
+			event.end();
+			if (event.shouldCommit()) {
+				event.commit();
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.shiro.spring.boot.jwt.trace.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * JWT 处理阶段的 JFR 事件基类，默认关闭，需要在录制配置中显式开启（如 <code>shiro.jwt.*#enabled=true</code>）
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+@Category({ "Shiro", "JWT" })
+@Enabled(false)
+@StackTrace(false)
+public abstract class JwtStageEvent extends Event {
+
+	@Label("Token Size")
+	long tokenSize;
+
+	@Label("Role Claims")
+	long roleCount;
+
+	@Label("Permission Claims")
+	long permissionCount;
+
+	@Label("Cache")
+	String cache;
+
+	@Label("Failure Reason")
+	String failure;
+
+}
@@ -0,0 +1,230 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.shiro.spring.boot.jwt.warmup;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.apache.shiro.authc.AuthenticationException;
+import org.apache.shiro.mgt.SecurityManager;
+import org.apache.shiro.spring.boot.jwt.JwtPayloadRepository;
+import org.apache.shiro.spring.boot.jwt.authc.JwtAuthenticationFailureHandler;
+import org.apache.shiro.spring.boot.jwt.authz.JwtAuthorizationFailureHandler;
+import org.apache.shiro.spring.boot.jwt.exception.ExpiredJwtException;
+import org.apache.shiro.spring.boot.jwt.exception.IncorrectJwtException;
+import org.apache.shiro.spring.boot.jwt.exception.InvalidJwtToken;
+import org.apache.shiro.spring.boot.jwt.exception.NotObtainedJwtException;
+import org.apache.shiro.spring.boot.jwt.token.JwtAuthorizationToken;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.Ordered;
+import org.springframework.util.StringUtils;
+
+/**
+ * JWT 预热：启动时使用合成令牌反复执行签发、验签、载荷解析、{@link SecurityManager#authenticate} 及失败响应输出，
+ * 使 JWT 解析、加密算法提供者、Realm 认证链路及 JSON 序列化在接收流量之前完成类加载和 JIT 编译。
+ * <p>
+ * Spring Boot 在所有 {@link ApplicationRunner} 执行完成后才发布 {@link ReadinessState#ACCEPTING_TRAFFIC}，
+ * 预热开始时显式发布 {@link ReadinessState#REFUSING_TRAFFIC}，保证就绪探针在预热期间不会通过。
+ * </p>
+ * 预热产生的响应写入丢弃流，任何异常仅记录日志，不影响应用启动；
+ * 丢弃请求及响应为 JDK 动态代理，原生镜像所需的代理元数据见 META-INF/native-image 下的 proxy-config.json。
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+public class JwtWarmupRunner implements ApplicationRunner, Ordered {
+
+	private static final Logger LOG = LoggerFactory.getLogger(JwtWarmupRunner.class);
+	private static final String WARMUP_SUBJECT = "jwt-warmup";
+	private static final String WARMUP_HOST = "127.0.0.1";
+
+	private final ApplicationEventPublisher eventPublisher;
+	private final JwtPayloadRepository payloadRepository;
+	private final SecurityManager securityManager;
+	private final JwtAuthenticationFailureHandler authenticationFailureHandler;
+	private final JwtAuthorizationFailureHandler authorizationFailureHandler;
+	/** 预热次数 */
+	private int iterations = 200;
+	private int order = Ordered.HIGHEST_PRECEDENCE;
+
+	public JwtWarmupRunner(ApplicationEventPublisher eventPublisher, JwtPayloadRepository payloadRepository,
+			SecurityManager securityManager, JwtAuthenticationFailureHandler authenticationFailureHandler,
+			JwtAuthorizationFailureHandler authorizationFailureHandler) {
+		this.eventPublisher = eventPublisher;
+		this.payloadRepository = payloadRepository;
+		this.securityManager = securityManager;
+		this.authenticationFailureHandler = authenticationFailureHandler;
+		this.authorizationFailureHandler = authorizationFailureHandler;
+	}
+
+	@Override
+	public void run(ApplicationArguments args) {
+		if (iterations <= 0) {
+			return;
+		}
+		AvailabilityChangeEvent.publish(eventPublisher, this, ReadinessState.REFUSING_TRAFFIC);
+		long start = System.nanoTime();
+		try {
+			warmup();
+			LOG.info("JWT warm-up finished in {} ms ({} iterations).", (System.nanoTime() - start) / 1000000L, iterations);
+		} catch (RuntimeException | LinkageError e) {
+			// 原生镜像缺少元数据等情况抛出的是 Error，同样不能影响启动
+			LOG.warn("JWT warm-up aborted: {}", e.getMessage());
+		}
+	}
+
+	protected void warmup() {
+		Map<String, Object> profile = new HashMap<String, Object>();
+		profile.put("warmup", Boolean.TRUE);
+		// 未实现签发的 JwtPayloadRepository 返回空字符串，此时只预热失败响应
+		String token = payloadRepository.issueJwt(WARMUP_SUBJECT, profile);
+		String tampered = StringUtils.hasText(token) ? tamper(token) : null;
+		HttpServletRequest request = discardRequest();
+		HttpServletResponse response = discardResponse();
+		for (int i = 0; i < iterations; i++) {
+			if (StringUtils.hasText(token)) {
+				payloadRepository.issueJwt(WARMUP_SUBJECT, profile);
+				verify(token);
+				verify(tampered);
+			}
+			writeFailures(request, response);
+		}
+	}
+
+	protected void verify(String token) {
+		try {
+			payloadRepository.verify(token, false);
+			payloadRepository.getPayload(token, false);
+			if (securityManager != null) {
+				// 经由 Authenticator 执行 Realm 认证，与请求中的认证链路一致
+				securityManager.authenticate(new JwtAuthorizationToken(WARMUP_HOST, token, false));
+			}
+		} catch (AuthenticationException e) {
+			// 篡改的令牌预期验签失败，同时预热异常路径
+		}
+	}
+
+	protected void writeFailures(HttpServletRequest request, HttpServletResponse response) {
+		AuthenticationException[] failures = new AuthenticationException[] {
+				new ExpiredJwtException("Warm-up expired."), new IncorrectJwtException("Warm-up incorrect."),
+				new InvalidJwtToken("Warm-up invalid."), new NotObtainedJwtException("Warm-up required.") };
+		for (AuthenticationException failure : failures) {
+			if (authenticationFailureHandler != null) {
+				authenticationFailureHandler.onAuthenticationFailure(null, request, response, failure);
+			}
+			if (authorizationFailureHandler != null) {
+				try {
+					authorizationFailureHandler.onAuthorizationFailure(null, failure, request, response);
+				} catch (IOException e) {
+					// 丢弃流不会抛出异常
+				}
+			}
+		}
+	}
+
+	/*
+	 * 修改签名的最后一个字符，得到结构合法但签名错误的令牌
+	 */
+	private static String tamper(String token) {
+		char last = token.charAt(token.length() - 1);
+		return token.substring(0, token.length() - 1) + (last == 'A' ? 'B' : 'A');
+	}
+
+	private static HttpServletRequest discardRequest() {
+		return (HttpServletRequest) Proxy.newProxyInstance(JwtWarmupRunner.class.getClassLoader(),
+				new Class<?>[] { HttpServletRequest.class }, (proxy, method, args) -> {
+					if ("getHeaderNames".equals(method.getName()) || "getAttributeNames".equals(method.getName())) {
+						return Collections.emptyEnumeration();
+					}
+					return defaultValue(method.getReturnType());
+				});
+	}
+
+	private static HttpServletResponse discardResponse() {
+		final ServletOutputStream out = new DiscardServletOutputStream();
+		return (HttpServletResponse) Proxy.newProxyInstance(JwtWarmupRunner.class.getClassLoader(),
+				new Class<?>[] { HttpServletResponse.class }, (proxy, method, args) -> {
+					if ("getOutputStream".equals(method.getName())) {
+						return out;
+					}
+					return defaultValue(method.getReturnType());
+				});
+	}
+
+	private static Object defaultValue(Class<?> type) {
+		if (type == boolean.class) {
+			return Boolean.FALSE;
+		}
+		if (type == int.class) {
+			return 0;
+		}
+		if (type == long.class) {
+			return 0L;
+		}
+		return null;
+	}
+
+	public int getIterations() {
+		return iterations;
+	}
+
+	public void setIterations(int iterations) {
+		this.iterations = iterations;
+	}
+
+	@Override
+	public int getOrder() {
+		return order;
+	}
+
+	public void setOrder(int order) {
+		this.order = order;
+	}
+
+	private static final class DiscardServletOutputStream extends ServletOutputStream {
+
+		@Override
+		public void write(int b) {
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) {
+		}
+
+		@Override
+		public boolean isReady() {
+			return true;
+		}
+
+		@Override
+		public void setWriteListener(WriteListener writeListener) {
+		}
+
+	}
+
+}
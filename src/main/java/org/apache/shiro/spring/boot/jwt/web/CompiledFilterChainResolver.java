@@ -0,0 +1,264 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.shiro.spring.boot.jwt.web;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+
+import org.apache.shiro.util.AntPathMatcher;
+import org.apache.shiro.util.PatternMatcher;
+import org.apache.shiro.web.filter.authc.AnonymousFilter;
+import org.apache.shiro.web.filter.mgt.FilterChainManager;
+import org.apache.shiro.web.filter.mgt.NamedFilterList;
+import org.apache.shiro.web.filter.mgt.PathMatchingFilterChainResolver;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * 预编译的过滤器链解析器：启动时将过滤器链的 Ant 路径按字面量前缀编译为分段前缀树，
+ * 请求时只对前缀树给出的候选路径按定义顺序执行匹配，保持“首个匹配生效”的语义；
+ * 解析结果按请求URI缓存在容量有限的缓存中。
+ * <p>
+ * 仅在使用 {@link AntPathMatcher} 时生效，其他 {@link PatternMatcher} 回退到默认的逐个匹配。
+ * </p>
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+public class CompiledFilterChainResolver extends PathMatchingFilterChainResolver {
+
+	private static final String DEFAULT_PATH_SEPARATOR = "/";
+	/** 未匹配任何过滤器链的缓存标记 */
+	private static final String NO_MATCH = "";
+	/** 默认按请求URI缓存的数量 */
+	public static final long DEFAULT_CACHE_SIZE = 1000;
+
+	private final Cache<String, String> chainNameCache;
+	private volatile CompiledChains compiledChains;
+
+	public CompiledFilterChainResolver(FilterChainManager filterChainManager) {
+		this(filterChainManager, new AntPathMatcher(), DEFAULT_CACHE_SIZE);
+	}
+
+	public CompiledFilterChainResolver(FilterChainManager filterChainManager, PatternMatcher pathMatcher, long cacheSize) {
+		super();
+		setFilterChainManager(filterChainManager);
+		setPathMatcher(pathMatcher);
+		this.chainNameCache = CacheBuilder.newBuilder().maximumSize(cacheSize).build();
+		this.compiledChains = compile();
+	}
+
+	@Override
+	public FilterChain getChain(ServletRequest request, ServletResponse response, FilterChain originalChain) {
+		if (!(getPathMatcher() instanceof AntPathMatcher)) {
+			return super.getChain(request, response, originalChain);
+		}
+		FilterChainManager filterChainManager = getFilterChainManager();
+		if (!filterChainManager.hasChains()) {
+			return null;
+		}
+		String chainName = getChainName(request);
+		if (chainName == null) {
+			return null;
+		}
+		return filterChainManager.proxy(originalChain, chainName);
+	}
+
+	/**
+	 * 获取请求匹配的过滤器链名称
+	 * @param request 请求
+	 * @return 未匹配时返回 null
+	 */
+	public String getChainName(ServletRequest request) {
+		String requestURI = removeTrailingSlash(getPathWithinApplication(request));
+		CompiledChains chains = getCompiledChains();
+		String chainName = chainNameCache.getIfPresent(requestURI);
+		if (chainName == null) {
+			chainName = chains.match(requestURI);
+			chainNameCache.put(requestURI, chainName == null ? NO_MATCH : chainName);
+		}
+		return NO_MATCH.equals(chainName) ? null : chainName;
+	}
+
+	/**
+	 * 判断请求匹配的过滤器链是否仅包含匿名过滤器（启动时编译确定）
+	 * @param request 请求
+	 * @return true/false，未匹配任何过滤器链时返回 false
+	 */
+	public boolean isAnonymous(ServletRequest request) {
+		if (!(getPathMatcher() instanceof AntPathMatcher)) {
+			return false;
+		}
+		String chainName = getChainName(request);
+		return chainName != null && getCompiledChains().isAnonymous(chainName);
+	}
+
+	/**
+	 * 过滤器链发生变化（如运行时动态添加）时重新编译
+	 */
+	protected CompiledChains getCompiledChains() {
+		CompiledChains chains = this.compiledChains;
+		if (chains.size != getFilterChainManager().getChainNames().size()) {
+			synchronized (this) {
+				chains = this.compiledChains;
+				if (chains.size != getFilterChainManager().getChainNames().size()) {
+					chains = compile();
+					this.compiledChains = chains;
+					chainNameCache.invalidateAll();
+				}
+			}
+		}
+		return chains;
+	}
+
+	protected CompiledChains compile() {
+		return new CompiledChains(new ArrayList<String>(getFilterChainManager().getChainNames()));
+	}
+
+	protected static String removeTrailingSlash(String path) {
+		if (path != null && !DEFAULT_PATH_SEPARATOR.equals(path) && path.endsWith(DEFAULT_PATH_SEPARATOR)) {
+			return path.substring(0, path.length() - 1);
+		}
+		return path;
+	}
+
+	protected static List<String> tokenize(String path) {
+		List<String> segments = new ArrayList<String>();
+		for (String segment : path.split(DEFAULT_PATH_SEPARATOR)) {
+			segment = segment.trim();
+			if (segment.length() > 0) {
+				segments.add(segment);
+			}
+		}
+		return segments;
+	}
+
+	/*
+	 * 过滤器链非空且全部为匿名过滤器
+	 */
+	protected static boolean isAnonymousChain(NamedFilterList chain) {
+		if (chain == null || chain.isEmpty()) {
+			return false;
+		}
+		for (Filter filter : chain) {
+			if (!(filter instanceof AnonymousFilter)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	protected static boolean isLiteral(String segment) {
+		return segment.indexOf('*') < 0 && segment.indexOf('?') < 0 && segment.indexOf('{') < 0;
+	}
+
+	/**
+	 * 编译后的过滤器链：按字面量分段建立前缀树，每个节点记录经过该节点的路径可能匹配的候选规则
+	 */
+	protected class CompiledChains {
+
+		private final int size;
+		private final String[] chainNames;
+		private final String[] patterns;
+		private final Map<String, Boolean> anonymous = new HashMap<String, Boolean>();
+		private final Node root = new Node();
+
+		protected CompiledChains(List<String> names) {
+			this.size = names.size();
+			this.chainNames = names.toArray(new String[size]);
+			this.patterns = new String[size];
+			for (int i = 0; i < size; i++) {
+				String pattern = chainNames[i] == null ? null : removeTrailingSlash(chainNames[i]);
+				patterns[i] = pattern;
+				if (pattern == null) {
+					continue;
+				}
+				anonymous.put(chainNames[i], isAnonymousChain(getFilterChainManager().getChain(chainNames[i])));
+				Node node = root;
+				boolean literal = true;
+				for (String segment : tokenize(pattern)) {
+					if (!isLiteral(segment)) {
+						literal = false;
+						break;
+					}
+					node = node.child(segment);
+				}
+				if (literal) {
+					node.exact.set(i);
+				} else {
+					node.prefix.set(i);
+				}
+			}
+		}
+
+		protected boolean isAnonymous(String chainName) {
+			return Boolean.TRUE.equals(anonymous.get(chainName));
+		}
+
+		/*
+		 * 按定义顺序检查候选规则，返回第一个匹配的过滤器链名称
+		 */
+		protected String match(String requestURI) {
+			BitSet candidates = new BitSet(size);
+			Node node = root;
+			candidates.or(node.prefix);
+			for (String segment : tokenize(requestURI)) {
+				node = node.children.get(segment);
+				if (node == null) {
+					break;
+				}
+				candidates.or(node.prefix);
+			}
+			if (node != null) {
+				candidates.or(node.exact);
+			}
+			for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+				if (pathMatches(patterns[i], requestURI)) {
+					return chainNames[i];
+				}
+			}
+			return null;
+		}
+
+	}
+
+	private static final class Node {
+
+		private final Map<String, Node> children = new HashMap<String, Node>(4);
+		/** 以该节点为字面量前缀、之后包含通配符的规则 */
+		private final BitSet prefix = new BitSet();
+		/** 全部为字面量、恰好结束于该节点的规则 */
+		private final BitSet exact = new BitSet();
+
+		private Node child(String segment) {
+			Node child = children.get(segment);
+			if (child == null) {
+				child = new Node();
+				children.put(segment, child);
+			}
+			return child;
+		}
+
+	}
+
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.shiro.spring.boot.jwt.web;
+
+import org.apache.shiro.spring.boot.jwt.audit.JwtAuditPublisher;
+import org.apache.shiro.spring.boot.jwt.authc.JwtAuthenticatingFilter;
+import org.apache.shiro.spring.boot.jwt.authc.throttle.LoginThrottle;
+import org.apache.shiro.spring.boot.jwt.authz.JwtAuthorizationFilter;
+import org.apache.shiro.spring.boot.jwt.token.JwtReferenceTokenStore;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+/**
+ * 为 {@link JwtAuthenticatingFilter}、{@link JwtAuthorizationFilter} 设置已启用的组件，过滤器中已设置的组件保持不变；
+ * 未注册为 Spring Bean 的过滤器由 ShiroJwtWebFilterConfiguration 从过滤器链管理器中取出后同样经过此处理
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+public class JwtFilterPostProcessor implements BeanPostProcessor {
+
+	private final ObjectProvider<JwtReferenceTokenStore> referenceTokenStoreProvider;
+	private final ObjectProvider<LoginThrottle> loginThrottleProvider;
+	private final ObjectProvider<JwtAuditPublisher> auditPublisherProvider;
+
+	public JwtFilterPostProcessor(ObjectProvider<JwtReferenceTokenStore> referenceTokenStoreProvider,
+			ObjectProvider<LoginThrottle> loginThrottleProvider, ObjectProvider<JwtAuditPublisher> auditPublisherProvider) {
+		this.referenceTokenStoreProvider = referenceTokenStoreProvider;
+		this.loginThrottleProvider = loginThrottleProvider;
+		this.auditPublisherProvider = auditPublisherProvider;
+	}
+
+	@Override
+	public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+		if (bean instanceof JwtAuthenticatingFilter) {
+			JwtAuthenticatingFilter filter = (JwtAuthenticatingFilter) bean;
+			if (filter.getReferenceTokenStore() == null) {
+				filter.setReferenceTokenStore(referenceTokenStoreProvider.getIfAvailable());
+			}
+			if (filter.getLoginThrottle() == null) {
+				filter.setLoginThrottle(loginThrottleProvider.getIfAvailable());
+			}
+			if (filter.getAuditPublisher() == null) {
+				filter.setAuditPublisher(auditPublisherProvider.getIfAvailable());
+			}
+		} else if (bean instanceof JwtAuthorizationFilter) {
+			JwtAuthorizationFilter filter = (JwtAuthorizationFilter) bean;
+			if (filter.getReferenceTokenStore() == null) {
+				filter.setReferenceTokenStore(referenceTokenStoreProvider.getIfAvailable());
+			}
+			if (filter.getAuditPublisher() == null) {
+				filter.setAuditPublisher(auditPublisherProvider.getIfAvailable());
+			}
+		}
+		return bean;
+	}
+
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.shiro.spring.boot.jwt.web;
+
+import java.io.IOException;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+
+import org.apache.shiro.web.filter.mgt.FilterChainResolver;
+import org.apache.shiro.web.servlet.AbstractShiroFilter;
+
+/**
+ * 匿名路径快速通道：请求匹配的过滤器链仅包含匿名过滤器（anon）时，
+ * 直接交给后续过滤器处理，不创建 Subject 也不绑定到线程；其他请求交给被包装的 Shiro 过滤器处理。
+ * <p>
+ * 是否为匿名过滤器链由被包装过滤器的 {@link CompiledFilterChainResolver} 在启动时确定；
+ * 匿名路径上的代码不能通过 SecurityUtils.getSubject() 获取线程绑定的 Subject。
+ * 被包装的过滤器（如 ShiroFilterFactoryBean 创建的过滤器）的行为保持不变，其初始化及销毁由此过滤器转发。
+ * </p>
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+public class JwtShiroFilter extends AbstractShiroFilter {
+
+	/** 被包装过滤器名称的后缀 */
+	public static final String DELEGATE_NAME_SUFFIX = ".delegate";
+
+	private final AbstractShiroFilter delegate;
+
+	public JwtShiroFilter(AbstractShiroFilter delegate) {
+		super();
+		if (delegate == null) {
+			throw new IllegalArgumentException("Shiro filter to wrap cannot be null.");
+		}
+		this.delegate = delegate;
+		setSecurityManager(delegate.getSecurityManager());
+	}
+
+	/*
+	 * Servlet 容器只初始化注册的外层过滤器，由此初始化被包装的过滤器；
+	 * 两者共享 FilterConfig，被包装的过滤器必须使用不同的名称，否则外层过滤器设置的 "<name>.FILTERED" 属性会使其直接跳过
+	 */
+	@Override
+	public void init() throws Exception {
+		String name = getName() != null ? getName() : getClass().getName();
+		delegate.setName(name + DELEGATE_NAME_SUFFIX);
+		delegate.init(getFilterConfig());
+	}
+
+	@Override
+	protected void doFilterInternal(ServletRequest servletRequest, ServletResponse servletResponse, FilterChain chain)
+			throws ServletException, IOException {
+		FilterChainResolver resolver = delegate.getFilterChainResolver();
+		if (resolver instanceof CompiledFilterChainResolver
+				&& ((CompiledFilterChainResolver) resolver).isAnonymous(servletRequest)) {
+			chain.doFilter(servletRequest, servletResponse);
+			return;
+		}
+		delegate.doFilter(servletRequest, servletResponse, chain);
+	}
+
+	@Override
+	public void destroy() {
+		delegate.destroy();
+	}
+
+	public AbstractShiroFilter getDelegate() {
+		return delegate;
+	}
+
+}
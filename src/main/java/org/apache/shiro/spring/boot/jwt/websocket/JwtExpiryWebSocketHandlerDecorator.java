@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.shiro.spring.boot.jwt.websocket;
+
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+
+/**
+ * 连接建立时按 {@link JwtWebSocketPrincipal} 的过期时间调度关闭，连接关闭时取消调度
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+public class JwtExpiryWebSocketHandlerDecorator extends WebSocketHandlerDecorator {
+
+	private final JwtSessionExpiryScheduler expiryScheduler;
+
+	public JwtExpiryWebSocketHandlerDecorator(WebSocketHandler delegate, JwtSessionExpiryScheduler expiryScheduler) {
+		super(delegate);
+		this.expiryScheduler = expiryScheduler;
+	}
+
+	@Override
+	public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+		JwtWebSocketPrincipal principal = JwtHandshakeInterceptor.getPrincipal(session.getAttributes());
+		if (principal != null && principal.isExpired(System.currentTimeMillis())) {
+			session.close(JwtSessionExpiryScheduler.TOKEN_EXPIRED);
+			return;
+		}
+		expiryScheduler.schedule(session, principal);
+		super.afterConnectionEstablished(session);
+	}
+
+	@Override
+	public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+		expiryScheduler.cancel(session);
+		super.afterConnectionClosed(session, closeStatus);
+	}
+
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.shiro.spring.boot.jwt.websocket;
+
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.handler.WebSocketHandlerDecoratorFactory;
+
+/**
+ * 用于 STOMP 配置（WebSocketTransportRegistration#addDecoratorFactory）的过期关闭装饰器工厂
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+public class JwtExpiryWebSocketHandlerDecoratorFactory implements WebSocketHandlerDecoratorFactory {
+
+	private final JwtSessionExpiryScheduler expiryScheduler;
+
+	public JwtExpiryWebSocketHandlerDecoratorFactory(JwtSessionExpiryScheduler expiryScheduler) {
+		this.expiryScheduler = expiryScheduler;
+	}
+
+	@Override
+	public WebSocketHandler decorate(WebSocketHandler handler) {
+		return new JwtExpiryWebSocketHandlerDecorator(handler, expiryScheduler);
+	}
+
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.shiro.spring.boot.jwt.websocket;
+
+import java.security.Principal;
+import java.util.Map;
+
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.server.support.DefaultHandshakeHandler;
+
+/**
+ * 使用 {@link JwtHandshakeInterceptor} 写入的 {@link JwtWebSocketPrincipal} 作为 WebSocket 会话的用户，
+ * STOMP 消息处理中可通过 <code>Principal</code> 参数直接获取。
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+public class JwtHandshakeHandler extends DefaultHandshakeHandler {
+
+	@Override
+	protected Principal determineUser(ServerHttpRequest request, WebSocketHandler wsHandler,
+			Map<String, Object> attributes) {
+		JwtWebSocketPrincipal principal = JwtHandshakeInterceptor.getPrincipal(attributes);
+		return principal != null ? principal : super.determineUser(request, wsHandler, attributes);
+	}
+
+}
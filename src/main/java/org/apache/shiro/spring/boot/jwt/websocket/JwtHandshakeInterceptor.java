@@ -0,0 +1,232 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.shiro.spring.boot.jwt.websocket;
+
+import java.util.Map;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.apache.shiro.SecurityUtils;
+import org.apache.shiro.UnavailableSecurityManagerException;
+import org.apache.shiro.authc.AuthenticationException;
+import org.apache.shiro.authc.AuthenticationInfo;
+import org.apache.shiro.mgt.SecurityManager;
+import org.apache.shiro.spring.boot.jwt.JwtPayloadPrincipal;
+import org.apache.shiro.spring.boot.jwt.JwtPayloadRepository;
+import org.apache.shiro.spring.boot.jwt.audit.JwtAuditPublisher;
+import org.apache.shiro.spring.boot.jwt.exception.InvalidJwtToken;
+import org.apache.shiro.spring.boot.jwt.token.JwtAuthorizationToken;
+import org.apache.shiro.spring.boot.jwt.token.JwtReferenceTokenStore;
+import org.apache.shiro.subject.Subject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.util.StringUtils;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+
+/**
+ * JSON Web Token (JWT) WebSocket 握手拦截器：握手时校验一次令牌，
+ * 并将不可变的 {@link JwtWebSocketPrincipal} 写入会话属性，连接期间的消息无需再次验签。
+ * <p>
+ * 握手请求已经过 JwtAuthorizationFilter 认证时直接复用当前 Subject 的主体；
+ * 否则从请求头或参数（浏览器无法为 WebSocket 设置请求头）读取令牌，通过 {@link SecurityManager#authenticate} 交由 JWT Realm 解析，
+ * 与 {@link org.apache.shiro.spring.boot.jwt.grpc.JwtGrpcServerInterceptor} 的认证链路一致。
+ * </p>
+ * <p>
+ * {@link JwtPayloadPrincipal} 继承了可修改的用户资料，会话属性中保存的是从其复制的只读快照 {@link JwtWebSocketPrincipal}，
+ * 原始主体可通过 {@link JwtWebSocketPrincipal#getPrincipal()} 获取。
+ * </p>
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+public class JwtHandshakeInterceptor implements HandshakeInterceptor {
+
+	private static final Logger LOG = LoggerFactory.getLogger(JwtHandshakeInterceptor.class);
+
+	/** 会话属性：连接主体 */
+	public static final String PRINCIPAL_ATTRIBUTE = JwtHandshakeInterceptor.class.getName() + ".PRINCIPAL";
+
+	protected static final String AUTHORIZATION_HEADER = "X-Authorization";
+	protected static final String AUTHORIZATION_PARAM = "token";
+
+	private final SecurityManager securityManager;
+	private final JwtPayloadRepository jwtPayloadRepository;
+	private String authorizationHeaderName = AUTHORIZATION_HEADER;
+	private String authorizationParamName = AUTHORIZATION_PARAM;
+	/** If Check JWT Validity. */
+	private boolean checkExpiry = false;
+	/** Reference Token Store, Reference Tokens Are Not Verified Again. */
+	private JwtReferenceTokenStore referenceTokenStore;
+	/** Audit Publisher, Authentication Results Are Enqueued And Written Asynchronously. */
+	private JwtAuditPublisher auditPublisher;
+
+	public JwtHandshakeInterceptor(SecurityManager securityManager, JwtPayloadRepository jwtPayloadRepository) {
+		this.securityManager = securityManager;
+		this.jwtPayloadRepository = jwtPayloadRepository;
+	}
+
+	@Override
+	public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response, WebSocketHandler wsHandler,
+			Map<String, Object> attributes) throws Exception {
+
+		JwtPayloadPrincipal principal = getAuthenticatedPrincipal();
+		String host = request.getRemoteAddress() == null ? null : request.getRemoteAddress().getHostString();
+		if (principal == null) {
+			String token = getAccessToken(request);
+			if (!StringUtils.hasText(token)) {
+				response.setStatusCode(HttpStatus.UNAUTHORIZED);
+				return false;
+			}
+			try {
+				Subject subject = authenticate(new JwtAuthorizationToken(host, token, false));
+				if (!(subject.getPrincipal() instanceof JwtPayloadPrincipal)) {
+					throw new InvalidJwtToken("Invalid JWT value.");
+				}
+				principal = (JwtPayloadPrincipal) subject.getPrincipal();
+				if (getAuditPublisher() != null) {
+					getAuditPublisher().publishSuccess(subject, host);
+				}
+			} catch (AuthenticationException e) {
+				if (LOG.isDebugEnabled()) {
+					LOG.debug("WebSocket handshake rejected: {}", e.getMessage());
+				}
+				if (getAuditPublisher() != null) {
+					getAuditPublisher().publishFailure(host, e);
+				}
+				response.setStatusCode(HttpStatus.UNAUTHORIZED);
+				return false;
+			}
+		}
+
+		JwtWebSocketPrincipal connectionPrincipal = new JwtWebSocketPrincipal(principal);
+		if (connectionPrincipal.isExpired(System.currentTimeMillis())) {
+			response.setStatusCode(HttpStatus.UNAUTHORIZED);
+			return false;
+		}
+		attributes.put(PRINCIPAL_ATTRIBUTE, connectionPrincipal);
+		return true;
+	}
+
+	@Override
+	public void afterHandshake(ServerHttpRequest request, ServerHttpResponse response, WebSocketHandler wsHandler,
+			Exception exception) {
+	}
+
+	/**
+	 * 委托给 Realm 认证并构建无会话的 Subject，与 JwtGrpcServerInterceptor 的认证链路一致
+	 */
+	protected Subject authenticate(JwtAuthorizationToken token) throws AuthenticationException {
+		AuthenticationInfo info = securityManager.authenticate(token);
+		Subject subject = new Subject.Builder(securityManager)
+				.principals(info.getPrincipals())
+				.authenticated(true)
+				.sessionCreationEnabled(false)
+				.host(token.getHost())
+				.buildSubject();
+		if (isCheckExpiry() && !isReferenceToken(token)
+				&& !getJwtPayloadRepository().verify(token, subject, isCheckExpiry())) {
+			throw new InvalidJwtToken("Invalid JWT value.");
+		}
+		return subject;
+	}
+
+	protected boolean isReferenceToken(JwtAuthorizationToken token) {
+		return getReferenceTokenStore() != null && getReferenceTokenStore().isReference(token.getToken());
+	}
+
+	/*
+	 * 当前线程已通过过滤器认证的主体，不存在时返回null
+	 */
+	protected JwtPayloadPrincipal getAuthenticatedPrincipal() {
+		try {
+			Subject subject = SecurityUtils.getSubject();
+			if (subject.isAuthenticated() && subject.getPrincipal() instanceof JwtPayloadPrincipal) {
+				return (JwtPayloadPrincipal) subject.getPrincipal();
+			}
+		} catch (UnavailableSecurityManagerException e) {
+			// 握手请求未经过 Shiro 过滤器
+		}
+		return null;
+	}
+
+	protected String getAccessToken(ServerHttpRequest request) {
+		String token = request.getHeaders().getFirst(getAuthorizationHeaderName());
+		if (!StringUtils.hasText(token) && request instanceof ServletServerHttpRequest) {
+			HttpServletRequest servletRequest = ((ServletServerHttpRequest) request).getServletRequest();
+			token = servletRequest.getParameter(getAuthorizationParamName());
+		}
+		return token;
+	}
+
+	/**
+	 * 获取会话的连接主体
+	 */
+	public static JwtWebSocketPrincipal getPrincipal(Map<String, Object> attributes) {
+		return (JwtWebSocketPrincipal) attributes.get(PRINCIPAL_ATTRIBUTE);
+	}
+
+	public SecurityManager getSecurityManager() {
+		return securityManager;
+	}
+
+	public JwtPayloadRepository getJwtPayloadRepository() {
+		return jwtPayloadRepository;
+	}
+
+	public boolean isCheckExpiry() {
+		return checkExpiry;
+	}
+
+	public void setCheckExpiry(boolean checkExpiry) {
+		this.checkExpiry = checkExpiry;
+	}
+
+	public JwtReferenceTokenStore getReferenceTokenStore() {
+		return referenceTokenStore;
+	}
+
+	public void setReferenceTokenStore(JwtReferenceTokenStore referenceTokenStore) {
+		this.referenceTokenStore = referenceTokenStore;
+	}
+
+	public String getAuthorizationHeaderName() {
+		return authorizationHeaderName;
+	}
+
+	public void setAuthorizationHeaderName(String authorizationHeaderName) {
+		this.authorizationHeaderName = authorizationHeaderName;
+	}
+
+	public String getAuthorizationParamName() {
+		return authorizationParamName;
+	}
+
+	public void setAuthorizationParamName(String authorizationParamName) {
+		this.authorizationParamName = authorizationParamName;
+	}
+
+	public JwtAuditPublisher getAuditPublisher() {
+		return auditPublisher;
+	}
+
+	public void setAuditPublisher(JwtAuditPublisher auditPublisher) {
+		this.auditPublisher = auditPublisher;
+	}
+
+}
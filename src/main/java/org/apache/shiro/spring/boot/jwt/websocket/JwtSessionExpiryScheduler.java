@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.shiro.spring.boot.jwt.websocket;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
+
+/**
+ * WebSocket 会话过期调度：在令牌过期时间关闭会话，连接断开时取消任务。
+ * <p>
+ * 所有会话共享一个守护线程，每个会话只有一个延迟任务，取消的任务立即从队列中移除。
+ * </p>
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+public class JwtSessionExpiryScheduler {
+
+	private static final Logger LOG = LoggerFactory.getLogger(JwtSessionExpiryScheduler.class);
+
+	/** 令牌过期时的关闭状态 */
+	public static final CloseStatus TOKEN_EXPIRED = CloseStatus.POLICY_VIOLATION.withReason("JWT expired.");
+
+	private final ScheduledThreadPoolExecutor executor;
+	private final ConcurrentMap<String, ScheduledFuture<?>> expirations = new ConcurrentHashMap<String, ScheduledFuture<?>>();
+
+	public JwtSessionExpiryScheduler() {
+		this.executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+			Thread thread = new Thread(runnable, "shiro-jwt-websocket-expiry");
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.executor.setRemoveOnCancelPolicy(true);
+	}
+
+	/**
+	 * 在主体的过期时间关闭会话，主体未声明过期时间时不调度
+	 */
+	public void schedule(WebSocketSession session, JwtWebSocketPrincipal principal) {
+		if (principal == null || principal.getExpiresAt() <= 0) {
+			return;
+		}
+		long delay = Math.max(0, principal.getExpiresAt() - System.currentTimeMillis());
+		ScheduledFuture<?> future = executor.schedule(() -> expire(session), delay, TimeUnit.MILLISECONDS);
+		ScheduledFuture<?> previous = expirations.put(session.getId(), future);
+		if (previous != null) {
+			previous.cancel(false);
+		}
+	}
+
+	public void cancel(WebSocketSession session) {
+		ScheduledFuture<?> future = expirations.remove(session.getId());
+		if (future != null) {
+			future.cancel(false);
+		}
+	}
+
+	protected void expire(WebSocketSession session) {
+		expirations.remove(session.getId());
+		if (!session.isOpen()) {
+			return;
+		}
+		try {
+			session.close(TOKEN_EXPIRED);
+		} catch (IOException e) {
+			LOG.warn("Failed to close expired WebSocket session {}: {}", session.getId(), e.getMessage());
+		}
+	}
+
+	public int size() {
+		return expirations.size();
+	}
+
+	public void shutdown() {
+		executor.shutdownNow();
+		expirations.clear();
+	}
+
+}
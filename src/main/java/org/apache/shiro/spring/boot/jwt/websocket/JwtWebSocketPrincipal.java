@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.shiro.spring.boot.jwt.websocket;
+
+import java.io.Serializable;
+import java.security.Principal;
+import java.util.Collections;
+import java.util.Set;
+
+import org.apache.shiro.spring.boot.jwt.JwtPayloadPrincipal;
+
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * WebSocket 连接的不可变主体：握手时从 {@link JwtPayloadPrincipal} 复制用户标识、角色、权限及过期时间，
+ * 在连接的整个生命周期内只读，消息级授权无需再次解析 JWT。
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+@SuppressWarnings("serial")
+public final class JwtWebSocketPrincipal implements Principal, Serializable {
+
+	private final String name;
+	private final Set<String> roles;
+	private final Set<String> perms;
+	/** 令牌过期时间（毫秒），未声明时为 0 */
+	private final long expiresAt;
+	private final transient JwtPayloadPrincipal principal;
+
+	public JwtWebSocketPrincipal(JwtPayloadPrincipal principal) {
+		this.principal = principal;
+		this.name = principal.getUserid();
+		ImmutableSet.Builder<String> roles = ImmutableSet.builder();
+		if (principal.getRoles() != null) {
+			principal.getRoles().forEach(role -> roles.add(role.getKey()));
+		}
+		this.roles = roles.build();
+		this.perms = principal.getPerms() == null ? Collections.<String>emptySet() : ImmutableSet.copyOf(principal.getPerms());
+		this.expiresAt = principal.getPayload() != null && principal.getPayload().getExpiration() != null
+				? principal.getPayload().getExpiration().getTime() : 0L;
+	}
+
+	@Override
+	public String getName() {
+		return name;
+	}
+
+	public Set<String> getRoles() {
+		return roles;
+	}
+
+	public Set<String> getPerms() {
+		return perms;
+	}
+
+	public boolean hasRole(String role) {
+		return roles.contains(role);
+	}
+
+	public long getExpiresAt() {
+		return expiresAt;
+	}
+
+	public boolean isExpired(long now) {
+		return expiresAt > 0 && expiresAt <= now;
+	}
+
+	/**
+	 * 握手时解析的原始主体，仅在当前节点有效（不参与序列化）
+	 */
+	public JwtPayloadPrincipal getPrincipal() {
+		return principal;
+	}
+
+	@Override
+	public String toString() {
+		return "JwtWebSocketPrincipal[" + name + "]";
+	}
+
+}
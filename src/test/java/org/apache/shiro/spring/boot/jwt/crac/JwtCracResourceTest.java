@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.shiro.spring.boot.jwt.crac;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.shiro.authz.SimpleAuthorizationInfo;
+import org.apache.shiro.spring.boot.jwt.audit.JwtAuditEvent;
+import org.apache.shiro.spring.boot.jwt.audit.JwtAuditPublisher;
+import org.apache.shiro.spring.boot.jwt.audit.RollingFileJwtAuditSink;
+import org.apache.shiro.spring.boot.jwt.authc.throttle.LoginThrottle;
+import org.apache.shiro.spring.boot.jwt.authz.JwtDecisionCache;
+import org.apache.shiro.spring.boot.jwt.token.InMemoryJwtReferenceTokenStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * JwtCracResource 检查点/恢复回调测试
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+public class JwtCracResourceTest {
+
+	@Test
+	public void checkpointDiscardsCachedState() throws Exception {
+		JwtDecisionCache decisionCache = new JwtDecisionCache();
+		SimpleAuthorizationInfo info = new SimpleAuthorizationInfo(Collections.singleton("admin"));
+		info.addStringPermission("user:read");
+		decisionCache.isPermitted(info, "user:read", () -> true);
+
+		InMemoryJwtReferenceTokenStore tokenStore = new InMemoryJwtReferenceTokenStore();
+		tokenStore.save("header.payload.signature", null);
+
+		LoginThrottle throttle = new LoginThrottle(60000, 10, 10, 1000);
+		throttle.tryAcquireUsername("admin");
+
+		JwtCracResource resource = new JwtCracResource(() -> Arrays.asList(decisionCache, tokenStore, throttle));
+		resource.beforeCheckpoint(null);
+
+		assertEquals(0, decisionCache.size());
+		assertEquals(0, tokenStore.size());
+		assertEquals(0, throttle.getUsernameCounter().size());
+		assertEquals(0, throttle.getAddressCounter().size());
+
+		resource.afterRestore(null);
+
+		// 恢复之后重建的随机数生成器仍可生成引用
+		String reference = tokenStore.save("header.payload.signature", null);
+		assertNotNull(tokenStore.get(reference));
+		assertFalse(decisionCache.isPermitted(info, "user:read", () -> false));
+	}
+
+	@Test
+	public void checkpointClosesAuditFile(@TempDir Path directory) throws Exception {
+		File file = directory.resolve("audit.log").toFile();
+		RollingFileJwtAuditSink sink = new RollingFileJwtAuditSink(file.getPath(), 0, 1);
+		sink.write(Collections.singletonList(JwtAuditEvent.success("admin", "jti", "127.0.0.1")));
+		JwtAuditPublisher publisher = new JwtAuditPublisher(Collections.singletonList(sink));
+		try {
+			JwtCracResource resource = new JwtCracResource(() -> Collections.singletonList(publisher));
+			resource.beforeCheckpoint(null);
+
+			assertTrue(publisher.isPaused());
+			assertFalse(sink.isOpen());
+
+			resource.afterRestore(null);
+
+			assertFalse(publisher.isPaused());
+			assertTrue(sink.isOpen());
+			assertTrue(file.length() > 0);
+		} finally {
+			publisher.shutdown();
+		}
+	}
+
+	@Test
+	public void restoreRunsInReverseOrder() throws Exception {
+		List<String> calls = new ArrayList<>();
+		JwtCracResource resource = new JwtCracResource(() -> Arrays.asList(new Recording("first", calls), new Recording("second", calls)));
+
+		resource.beforeCheckpoint(null);
+		resource.afterRestore(null);
+
+		assertEquals(Arrays.asList("before:first", "before:second", "after:second", "after:first"), calls);
+	}
+
+	@Test
+	public void nullParticipantsAreIgnored() throws Exception {
+		JwtCracResource resource = new JwtCracResource(() -> null);
+
+		resource.beforeCheckpoint(null);
+		resource.afterRestore(null);
+
+		assertTrue(resource.getParticipants().isEmpty());
+	}
+
+	private static final class Recording implements JwtCheckpointAware {
+
+		private final String name;
+		private final List<String> calls;
+
+		private Recording(String name, List<String> calls) {
+			this.name = name;
+			this.calls = calls;
+		}
+
+		@Override
+		public void beforeCheckpoint() {
+			calls.add("before:" + name);
+		}
+
+		@Override
+		public void afterRestore() {
+			calls.add("after:" + name);
+		}
+
+	}
+
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.shiro.spring.boot.jwt.grpc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.shiro.SecurityUtils;
+import org.apache.shiro.authc.AuthenticationInfo;
+import org.apache.shiro.authc.AuthenticationToken;
+import org.apache.shiro.authc.SimpleAuthenticationInfo;
+import org.apache.shiro.mgt.DefaultSecurityManager;
+import org.apache.shiro.mgt.DefaultSessionStorageEvaluator;
+import org.apache.shiro.mgt.DefaultSubjectDAO;
+import org.apache.shiro.realm.Realm;
+import org.apache.shiro.spring.boot.jwt.exception.IncorrectJwtException;
+import org.apache.shiro.spring.boot.jwt.token.JwtAuthorizationToken;
+import org.apache.shiro.subject.Subject;
+import org.apache.shiro.util.ThreadContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.StreamUtils;
+
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientInterceptors;
+import io.grpc.ManagedChannel;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Server;
+import io.grpc.ServerInterceptors;
+import io.grpc.ServerServiceDefinition;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.ClientCalls;
+import io.grpc.stub.MetadataUtils;
+import io.grpc.stub.ServerCalls;
+
+/**
+ * JwtGrpcServerInterceptor 进程内调用测试
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+public class JwtGrpcServerInterceptorTest {
+
+	private static final String VALID_TOKEN = "header.payload.signature";
+	private static final String PRINCIPAL = "alice";
+
+	private static final MethodDescriptor.Marshaller<String> STRING_MARSHALLER = new MethodDescriptor.Marshaller<String>() {
+
+		@Override
+		public InputStream stream(String value) {
+			return new ByteArrayInputStream(value.getBytes(StandardCharsets.UTF_8));
+		}
+
+		@Override
+		public String parse(InputStream stream) {
+			try {
+				return StreamUtils.copyToString(stream, StandardCharsets.UTF_8);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+
+	};
+
+	private static final MethodDescriptor<String, String> WHOAMI = MethodDescriptor.<String, String>newBuilder()
+			.setType(MethodDescriptor.MethodType.UNARY)
+			.setFullMethodName(MethodDescriptor.generateFullMethodName("test.Identity", "WhoAmI"))
+			.setRequestMarshaller(STRING_MARSHALLER)
+			.setResponseMarshaller(STRING_MARSHALLER)
+			.build();
+
+	private Server server;
+	private ManagedChannel channel;
+
+	@BeforeEach
+	public void setUp() throws IOException {
+		DefaultSecurityManager securityManager = new DefaultSecurityManager(new TokenRealm());
+		// 与无状态部署一致：不在会话中保存 Subject
+		DefaultSubjectDAO subjectDAO = (DefaultSubjectDAO) securityManager.getSubjectDAO();
+		((DefaultSessionStorageEvaluator) subjectDAO.getSessionStorageEvaluator()).setSessionStorageEnabled(false);
+
+		JwtGrpcServerInterceptor interceptor = new JwtGrpcServerInterceptor(securityManager, null);
+		ServerServiceDefinition service = ServerServiceDefinition.builder("test.Identity")
+				.addMethod(WHOAMI, ServerCalls.asyncUnaryCall((request, responseObserver) -> {
+					Subject subject = SecurityUtils.getSubject();
+					boolean sameSubject = subject == JwtGrpcServerInterceptor.currentSubject();
+					responseObserver.onNext(subject.getPrincipal() + ":" + subject.isAuthenticated() + ":" + sameSubject);
+					responseObserver.onCompleted();
+				}))
+				.build();
+
+		String name = InProcessServerBuilder.generateName();
+		server = InProcessServerBuilder.forName(name).directExecutor()
+				.addService(ServerInterceptors.intercept(service, interceptor)).build().start();
+		channel = InProcessChannelBuilder.forName(name).directExecutor().build();
+	}
+
+	@AfterEach
+	public void tearDown() {
+		channel.shutdownNow();
+		server.shutdownNow();
+	}
+
+	@Test
+	public void acceptsValidTokenAndBindsSubject() {
+		String response = call("Bearer " + VALID_TOKEN);
+
+		assertEquals(PRINCIPAL + ":true:true", response);
+		// 回调结束后解绑 Subject
+		assertNull(ThreadContext.getSubject());
+	}
+
+	@Test
+	public void rejectsMissingToken() {
+		StatusRuntimeException ex = assertThrows(StatusRuntimeException.class, () -> call(null));
+
+		assertEquals(Status.Code.UNAUTHENTICATED, ex.getStatus().getCode());
+		assertEquals("REQUIRED", ex.getStatus().getDescription());
+	}
+
+	@Test
+	public void rejectsInvalidTokenWithoutDetails() {
+		StatusRuntimeException ex = assertThrows(StatusRuntimeException.class, () -> call("Bearer forged.token.value"));
+
+		assertEquals(Status.Code.UNAUTHENTICATED, ex.getStatus().getCode());
+		// 只返回失败原因，不包含异常信息
+		assertEquals("INCORRECT", ex.getStatus().getDescription());
+	}
+
+	private String call(String authorization) {
+		Metadata headers = new Metadata();
+		if (authorization != null) {
+			headers.put(Metadata.Key.of("X-Authorization", Metadata.ASCII_STRING_MARSHALLER), authorization);
+		}
+		Channel intercepted = ClientInterceptors.intercept(channel, MetadataUtils.newAttachHeadersInterceptor(headers));
+		return ClientCalls.blockingUnaryCall(intercepted, WHOAMI, CallOptions.DEFAULT, "whoami");
+	}
+
+	/*
+	 * 仅接受固定令牌的 Realm，其他令牌抛出包含内部细节的异常
+	 */
+	private static final class TokenRealm implements Realm {
+
+		@Override
+		public String getName() {
+			return "token";
+		}
+
+		@Override
+		public boolean supports(AuthenticationToken token) {
+			return token instanceof JwtAuthorizationToken;
+		}
+
+		@Override
+		public AuthenticationInfo getAuthenticationInfo(AuthenticationToken token) {
+			String jwt = ((JwtAuthorizationToken) token).getToken();
+			if (!VALID_TOKEN.equals(jwt)) {
+				throw new IncorrectJwtException("Signature does not match key kid-1.");
+			}
+			return new SimpleAuthenticationInfo(PRINCIPAL, jwt, getName());
+		}
+
+	}
+
+}
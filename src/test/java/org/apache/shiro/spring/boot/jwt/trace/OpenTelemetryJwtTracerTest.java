@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.shiro.spring.boot.jwt.trace;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.apache.shiro.spring.boot.jwt.exception.JwtFailureReason;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+
+/**
+ * OpenTelemetryJwtTracer 片段层级测试
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+public class OpenTelemetryJwtTracerTest {
+
+	private static final String REQUEST_SPAN = "GET /api/user";
+
+	private InMemorySpanExporter exporter;
+	private SdkTracerProvider tracerProvider;
+	private Tracer requestTracer;
+	private OpenTelemetryJwtTracer jwtTracer;
+
+	@BeforeEach
+	public void setUp() {
+		exporter = InMemorySpanExporter.create();
+		tracerProvider = SdkTracerProvider.builder().addSpanProcessor(SimpleSpanProcessor.create(exporter)).build();
+		OpenTelemetrySdk openTelemetry = OpenTelemetrySdk.builder().setTracerProvider(tracerProvider).build();
+		requestTracer = openTelemetry.getTracer("test");
+		jwtTracer = new OpenTelemetryJwtTracer(openTelemetry);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		tracerProvider.close();
+	}
+
+	@Test
+	public void stageSpansFormTreeUnderRequestSpan() {
+		Span request = requestTracer.spanBuilder(REQUEST_SPAN).startSpan();
+		try (Scope ignored = request.makeCurrent()) {
+			JwtSpan decode = jwtTracer.start(JwtTraceStage.PAYLOAD_DECODE);
+			try {
+				jwtTracer.start(JwtTraceStage.SIGNATURE_VERIFY).end();
+			} finally {
+				decode.end();
+			}
+			jwtTracer.start(JwtTraceStage.REALM_AUTHORIZATION).setAttribute(JwtSpan.CACHE, "hit").end();
+			// 阶段结束后请求片段重新成为当前片段
+			assertEquals(request.getSpanContext(), Span.current().getSpanContext());
+		} finally {
+			request.end();
+		}
+
+		Map<String, SpanData> spans = exporter.getFinishedSpanItems().stream()
+				.collect(Collectors.toMap(SpanData::getName, Function.identity()));
+		assertEquals(4, spans.size());
+		SpanData requestData = spans.get(REQUEST_SPAN);
+		SpanData decodeData = spans.get(JwtTraceStage.PAYLOAD_DECODE.getSpanName());
+		SpanData verifyData = spans.get(JwtTraceStage.SIGNATURE_VERIFY.getSpanName());
+		SpanData authzData = spans.get(JwtTraceStage.REALM_AUTHORIZATION.getSpanName());
+
+		assertEquals(requestData.getSpanId(), decodeData.getParentSpanId());
+		assertEquals(decodeData.getSpanId(), verifyData.getParentSpanId());
+		assertEquals(requestData.getSpanId(), authzData.getParentSpanId());
+		assertEquals(requestData.getTraceId(), verifyData.getTraceId());
+		assertEquals("hit", authzData.getAttributes().get(AttributeKey.stringKey(JwtSpan.CACHE)));
+	}
+
+	@Test
+	public void failureMarksStageSpanAsError() {
+		Span request = requestTracer.spanBuilder(REQUEST_SPAN).startSpan();
+		try (Scope ignored = request.makeCurrent()) {
+			jwtTracer.start(JwtTraceStage.SIGNATURE_VERIFY).recordFailure(JwtFailureReason.EXPIRED).end();
+		} finally {
+			request.end();
+		}
+
+		SpanData verifyData = exporter.getFinishedSpanItems().stream()
+				.filter(span -> JwtTraceStage.SIGNATURE_VERIFY.getSpanName().equals(span.getName()))
+				.findFirst().get();
+		assertEquals(StatusCode.ERROR, verifyData.getStatus().getStatusCode());
+		assertEquals(JwtFailureReason.EXPIRED.name(), verifyData.getAttributes().get(AttributeKey.stringKey(JwtSpan.FAILURE)));
+	}
+
+	@Test
+	public void noSpanWithoutSampledParent() {
+		JwtSpan span = jwtTracer.start(JwtTraceStage.TOKEN_RESOLUTION);
+		assertSame(JwtSpan.NOOP, span);
+		span.end();
+		assertTrue(exporter.getFinishedSpanItems().isEmpty());
+	}
+
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.shiro.spring.boot.jwt.web;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import javax.servlet.http.HttpServletResponse;
+
+import org.apache.shiro.web.filter.mgt.DefaultFilterChainManager;
+import org.apache.shiro.web.mgt.DefaultWebSecurityManager;
+import org.apache.shiro.web.servlet.AbstractShiroFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockFilterConfig;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/**
+ * JwtShiroFilter 匿名路径快速通道测试
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+public class JwtShiroFilterTest {
+
+	private JwtShiroFilter shiroFilter;
+
+	@BeforeEach
+	public void setUp() throws Exception {
+		DefaultFilterChainManager filterChainManager = new DefaultFilterChainManager();
+		filterChainManager.createChain("/public/**", "anon");
+		filterChainManager.createChain("/**", "authcBasic");
+
+		AbstractShiroFilter delegate = new AbstractShiroFilter() {
+		};
+		delegate.setSecurityManager(new DefaultWebSecurityManager());
+		delegate.setFilterChainResolver(new CompiledFilterChainResolver(filterChainManager));
+
+		shiroFilter = new JwtShiroFilter(delegate);
+		shiroFilter.init(new MockFilterConfig("shiroFilter"));
+	}
+
+	@Test
+	public void protectedPathIsFilteredByShiro() throws Exception {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		MockFilterChain chain = new MockFilterChain();
+
+		shiroFilter.doFilter(new MockHttpServletRequest("GET", "/api/user"), response, chain);
+
+		assertEquals(HttpServletResponse.SC_UNAUTHORIZED, response.getStatus());
+		assertNull(chain.getRequest());
+	}
+
+	@Test
+	public void anonymousPathBypassesShiro() throws Exception {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		MockFilterChain chain = new MockFilterChain();
+
+		shiroFilter.doFilter(new MockHttpServletRequest("GET", "/public/logo.png"), response, chain);
+
+		assertEquals(HttpServletResponse.SC_OK, response.getStatus());
+		assertNotNull(chain.getRequest());
+	}
+
+	@Test
+	public void delegateUsesItsOwnFilterName() {
+		assertEquals("shiroFilter" + JwtShiroFilter.DELEGATE_NAME_SUFFIX, shiroFilter.getDelegate().getName());
+	}
+
+}